@@ -0,0 +1,81 @@
+import java.awt.Point;
+import java.util.Random;
+
+// Regression check for HierarchicalPathfinder: it must find a route whenever the tile-level
+// Pathfinder does. Covers a route that crosses a cluster border only by a diagonal step
+// between two blocked corners, then a seeded fuzz on random maps, both freshly built and
+// after tile edits. Exits with status 1 on the first mismatch.
+//
+// Usage (from the project root, after run_benchmarks.sh has compiled into bench/build):
+//   java -cp bench/build HierarchicalPathfinderCheck
+public class HierarchicalPathfinderCheck {
+    private static final long SEED = 20240601L;
+    private static final int TILE_SIZE = 32;
+
+    public static void main(String[] args) {
+        diagonalOnlyCrossing();
+        randomMaps();
+        System.out.println("[OK] HierarchicalPathfinder agrees with Pathfinder");
+    }
+
+    // 10x5 tiles in clusters of 5: columns 4 and 5 are walls except (4,0) and (5,1), which
+    // touch only diagonally
+    private static void diagonalOnlyCrossing() {
+        Environment environment = new Environment(10 * TILE_SIZE, 5 * TILE_SIZE, TILE_SIZE);
+        int[][] tiles = new int[5][10];
+        for (int y = 0; y < 5; y++) {
+            tiles[y][4] = 1;
+            tiles[y][5] = 1;
+        }
+        tiles[0][4] = 0;
+        tiles[1][5] = 0;
+        environment.setCollisionTiles(tiles);
+
+        HierarchicalPathfinder hierarchical = new HierarchicalPathfinder(environment, 5);
+        compare("diagonal-only crossing", environment, hierarchical, new Point(0, 2), new Point(9, 2));
+    }
+
+    private static void randomMaps() {
+        Random random = new Random(SEED);
+        for (int map = 0; map < 40; map++) {
+            int cols = 20 + random.nextInt(30);
+            int rows = 20 + random.nextInt(30);
+            Environment environment = new Environment(cols * TILE_SIZE, rows * TILE_SIZE, TILE_SIZE);
+            int[][] tiles = new int[rows][cols];
+            double density = 0.25 + random.nextDouble() * 0.2;
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < cols; x++) {
+                    tiles[y][x] = random.nextDouble() < density ? 1 : 0;
+                }
+            }
+            environment.setCollisionTiles(tiles);
+            HierarchicalPathfinder hierarchical = new HierarchicalPathfinder(environment, 2 + random.nextInt(8));
+
+            for (int round = 0; round < 3; round++) {
+                for (int query = 0; query < 50; query++) {
+                    Point start = new Point(random.nextInt(cols), random.nextInt(rows));
+                    Point goal = new Point(random.nextInt(cols), random.nextInt(rows));
+                    compare("map " + map + " round " + round, environment, hierarchical, start, goal);
+                }
+                // Incremental rebuild of the clusters around the edits
+                for (int edit = 0; edit < 10; edit++) {
+                    environment.setCollisionTile(random.nextInt(cols), random.nextInt(rows), random.nextInt(2));
+                }
+            }
+        }
+    }
+
+    private static void compare(String name, Environment environment, HierarchicalPathfinder hierarchical,
+            Point start, Point goal) {
+        CollisionGrid grid = environment.getCollisionGrid();
+        if (grid.isBlocked(start.x, start.y) || grid.isBlocked(goal.x, goal.y))
+            return;
+        boolean reachable = !new Pathfinder().findPath(start, goal, grid).isEmpty();
+        boolean found = hierarchical.findPath(start, goal) != null;
+        if (reachable != found) {
+            System.out.println("[FAIL] " + name + ": " + start.x + "," + start.y + " -> " + goal.x + "," + goal.y
+                    + " reachable=" + reachable + " hierarchical=" + found);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+import java.awt.Point;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Reproducible cost numbers for pathfinding and grid queries, so pathfinding changes can be
+// judged against a baseline. Plain Java with no dependencies (the game has no build tool to
+// pull in JMH), run through run_benchmarks.sh from the project root.
+//
+// For every map (assets/maps/map1.txt plus generated open, maze and unreachable-goal maps)
+// and every Pathfinder algorithm it replays a fixed, seeded set of start/goal queries:
+// a warmup pass first, then timed passes that report throughput, latency percentiles per
+// query and bytes allocated per query (from the thread allocation counter, when the JVM has
+// one). Environment.isWalkable is timed in batches since a single call is below the timer
+// resolution.
+//
+// Usage: java PathfinderBenchmark [--quick] [name filter]
+public class PathfinderBenchmark {
+    private static final long SEED = 20240601L;
+    private static final int QUERIES = 200;
+    private static final int TILE_SIZE = 32;
+    private static final int WALKABLE_BATCH = 4096;
+
+    private static long warmupNanos = 2_000_000_000L;
+    private static long measureNanos = 5_000_000_000L;
+    private static volatile long sink; // keeps results alive so the JIT can't drop the work
+
+    private static class BenchMap {
+        final String name;
+        final int[][] grid;
+        final CollisionGrid collision;
+        final Point[] starts;
+        final Point[] goals;
+
+        BenchMap(String name, int[][] grid, Point[] starts, Point[] goals) {
+            this.name = name;
+            this.grid = grid;
+            this.collision = CollisionGrid.fromArray(grid);
+            this.starts = starts;
+            this.goals = goals;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = "";
+        for (String arg : args) {
+            if (arg.equals("--quick")) {
+                warmupNanos = 300_000_000L;
+                measureNanos = 1_000_000_000L;
+            } else {
+                filter = arg;
+            }
+        }
+
+        List<BenchMap> maps = new ArrayList<>();
+        maps.add(loadMap1());
+        maps.add(openMap(256, 256));
+        maps.add(mazeMap(129, 129));
+        maps.add(unreachableMap(256, 256));
+
+        System.out.println("Allocation counter: " + (allocationSupported() ? "on" : "unavailable"));
+        System.out.printf("%-34s %12s %10s %10s %10s %10s %12s%n",
+                "benchmark", "ops/s", "p50 us", "p90 us", "p99 us", "max us", "bytes/op");
+
+        for (BenchMap map : maps) {
+            for (Pathfinder.Algorithm algorithm : Pathfinder.Algorithm.values()) {
+                String name = "findPath." + map.name + "." + algorithm;
+                if (name.contains(filter)) {
+                    benchmarkFindPath(name, map, new Pathfinder(algorithm));
+                }
+            }
+        }
+        for (BenchMap map : maps) {
+            String name = "isWalkable." + map.name;
+            if (name.contains(filter)) {
+                benchmarkIsWalkable(name, map);
+            }
+        }
+    }
+
+    private static void benchmarkFindPath(String name, BenchMap map, Pathfinder pathfinder) {
+        // Warmup: same work as the measurement so the JIT sees the real call profile
+        long warmupEnd = System.nanoTime() + warmupNanos;
+        int query = 0;
+        while (System.nanoTime() < warmupEnd) {
+            sink += pathfinder.findPath(map.starts[query], map.goals[query], map.collision).size();
+            query = (query + 1) % QUERIES;
+        }
+
+        long[] latencies = new long[1 << 16];
+        int count = 0;
+        long allocatedBefore = allocatedBytes();
+        long began = System.nanoTime();
+        long end = began + measureNanos;
+        long now = began;
+        while (now < end) {
+            long t0 = System.nanoTime();
+            sink += pathfinder.findPath(map.starts[query], map.goals[query], map.collision).size();
+            now = System.nanoTime();
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = now - t0;
+            query = (query + 1) % QUERIES;
+        }
+        long elapsed = now - began;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        report(name, count, elapsed, latencies, count, 1, allocated);
+    }
+
+    private static void benchmarkIsWalkable(String name, BenchMap map) {
+        Environment environment = new Environment(map.grid[0].length * TILE_SIZE, map.grid.length * TILE_SIZE,
+                TILE_SIZE);
+        environment.setCollisionTiles(map.grid);
+
+        Random random = new Random(SEED);
+        float[] xs = new float[WALKABLE_BATCH];
+        float[] ys = new float[WALKABLE_BATCH];
+        for (int i = 0; i < WALKABLE_BATCH; i++) {
+            xs[i] = random.nextFloat() * environment.getWidth();
+            ys[i] = random.nextFloat() * environment.getHeight();
+        }
+
+        long warmupEnd = System.nanoTime() + warmupNanos;
+        while (System.nanoTime() < warmupEnd) {
+            sink += walkableBatch(environment, xs, ys);
+        }
+
+        // Each sample is one batch; percentiles are divided back down to one call
+        long[] latencies = new long[1 << 12];
+        int batches = 0;
+        long allocatedBefore = allocatedBytes();
+        long began = System.nanoTime();
+        long end = began + measureNanos;
+        long now = began;
+        while (now < end) {
+            long t0 = System.nanoTime();
+            sink += walkableBatch(environment, xs, ys);
+            now = System.nanoTime();
+            if (batches == latencies.length) {
+                latencies = Arrays.copyOf(latencies, batches * 2);
+            }
+            latencies[batches++] = now - t0;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        report(name, (long) batches * WALKABLE_BATCH, now - began, latencies, batches, WALKABLE_BATCH, allocated);
+    }
+
+    private static int walkableBatch(Environment environment, float[] xs, float[] ys) {
+        int walkable = 0;
+        for (int i = 0; i < xs.length; i++) {
+            if (environment.isWalkable(xs[i], ys[i]))
+                walkable++;
+        }
+        return walkable;
+    }
+
+    private static void report(String name, long ops, long elapsedNanos, long[] samples, int sampleCount,
+            int opsPerSample, long allocated) {
+        Arrays.sort(samples, 0, sampleCount);
+        double opsPerSecond = ops * 1e9 / elapsedNanos;
+        double scale = opsPerSample * 1e3; // sample nanos -> microseconds per op
+        String bytesPerOp = allocationSupported() ? String.format("%.1f", allocated / (double) ops) : "n/a";
+        System.out.printf("%-34s %12.0f %10.3f %10.3f %10.3f %10.3f %12s%n", name, opsPerSecond,
+                percentile(samples, sampleCount, 0.50) / scale, percentile(samples, sampleCount, 0.90) / scale,
+                percentile(samples, sampleCount, 0.99) / scale, samples[sampleCount - 1] / scale, bytesPerOp);
+    }
+
+    private static long percentile(long[] sorted, int count, double fraction) {
+        int index = (int) Math.ceil(fraction * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    // Bytes allocated so far by this thread, -1 if the JVM doesn't expose the counter
+    private static long allocatedBytes() {
+        if (!allocationSupported())
+            return -1;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean allocationSupported() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean))
+            return false;
+        com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!sunThreads.isThreadAllocatedMemorySupported())
+            return false;
+        if (!sunThreads.isThreadAllocatedMemoryEnabled()) {
+            sunThreads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+
+    // ---- Maps ----
+
+    private static BenchMap loadMap1() throws Exception {
+        TileMap tileMap = new TileMap(TILE_SIZE);
+        tileMap.loadMap("assets/maps/map1.txt");
+        int[][] grid = tileMap.getCollisionGrid().toArray();
+        addBorder(grid);
+        return withRandomQueries("map1", grid, new Random(SEED));
+    }
+
+    // 10% scattered obstacles
+    private static BenchMap openMap(int cols, int rows) {
+        Random random = new Random(SEED);
+        int[][] grid = new int[rows][cols];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                grid[y][x] = random.nextInt(10) == 0 ? 1 : 0;
+            }
+        }
+        addBorder(grid);
+        return withRandomQueries("open" + cols + "x" + rows, grid, random);
+    }
+
+    // Perfect maze (randomised depth-first carve) with one-tile corridors; odd dimensions
+    private static BenchMap mazeMap(int cols, int rows) {
+        Random random = new Random(SEED);
+        int[][] grid = new int[rows][cols];
+        for (int[] row : grid) {
+            Arrays.fill(row, 1);
+        }
+        int[] stack = new int[cols * rows];
+        int top = 0;
+        grid[1][1] = 0;
+        stack[top++] = cols + 1;
+        int[] dx = { 2, -2, 0, 0 };
+        int[] dy = { 0, 0, 2, -2 };
+        int[] order = { 0, 1, 2, 3 };
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int cx = cell % cols;
+            int cy = cell / cols;
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            boolean carved = false;
+            for (int d : order) {
+                int nx = cx + dx[d];
+                int ny = cy + dy[d];
+                if (nx > 0 && ny > 0 && nx < cols - 1 && ny < rows - 1 && grid[ny][nx] == 1) {
+                    grid[cy + dy[d] / 2][cx + dx[d] / 2] = 0;
+                    grid[ny][nx] = 0;
+                    stack[top++] = ny * cols + nx;
+                    carved = true;
+                    break;
+                }
+            }
+            if (!carved) {
+                top--;
+            }
+        }
+        return withRandomQueries("maze" + cols + "x" + rows, grid, random);
+    }
+
+    // Open map where every goal sits inside a walled-off box: each query floods the reachable
+    // area before giving up, the worst case for a single search
+    private static BenchMap unreachableMap(int cols, int rows) {
+        BenchMap open = openMap(cols, rows);
+        int[][] grid = open.grid;
+        int boxX = cols / 2;
+        int boxY = rows / 2;
+        for (int y = boxY - 2; y <= boxY + 2; y++) {
+            for (int x = boxX - 2; x <= boxX + 2; x++) {
+                boolean edge = y == boxY - 2 || y == boxY + 2 || x == boxX - 2 || x == boxX + 2;
+                grid[y][x] = edge ? 1 : 0;
+            }
+        }
+        Point[] goals = new Point[QUERIES];
+        Point[] starts = new Point[QUERIES];
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < QUERIES; i++) {
+            goals[i] = new Point(boxX - 1 + random.nextInt(3), boxY - 1 + random.nextInt(3));
+            do {
+                starts[i] = randomWalkable(grid, random);
+            } while (Math.abs(starts[i].x - boxX) <= 2 && Math.abs(starts[i].y - boxY) <= 2);
+        }
+        return new BenchMap("unreachable" + cols + "x" + rows, grid, starts, goals);
+    }
+
+    private static BenchMap withRandomQueries(String name, int[][] grid, Random random) {
+        Point[] starts = new Point[QUERIES];
+        Point[] goals = new Point[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = randomWalkable(grid, random);
+            goals[i] = randomWalkable(grid, random);
+        }
+        return new BenchMap(name, grid, starts, goals);
+    }
+
+    private static Point randomWalkable(int[][] grid, Random random) {
+        while (true) {
+            int x = random.nextInt(grid[0].length);
+            int y = random.nextInt(grid.length);
+            if (grid[y][x] == 0)
+                return new Point(x, y);
+        }
+    }
+
+    private static void addBorder(int[][] grid) {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        for (int x = 0; x < cols; x++) {
+            grid[0][x] = 1;
+            grid[rows - 1][x] = 1;
+        }
+        for (int y = 0; y < rows; y++) {
+            grid[y][0] = 1;
+            grid[y][cols - 1] = 1;
+        }
+    }
+}
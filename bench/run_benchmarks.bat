@@ -0,0 +1,24 @@
+@echo off
+REM Zombie Defense Game - Pathfinding benchmarks
+REM Usage: bench\run_benchmarks.bat [--quick] [name filter]
+
+setlocal
+set PROJECT_DIR=%~dp0..
+set SRC_DIR=%PROJECT_DIR%\src
+set BENCH_DIR=%PROJECT_DIR%\bench
+set OUT_DIR=%BENCH_DIR%\build
+
+if not exist "%OUT_DIR%" mkdir "%OUT_DIR%"
+
+echo [*] Compiling game and benchmark sources...
+cd /d "%PROJECT_DIR%"
+javac -d "%OUT_DIR%" -sourcepath "%SRC_DIR%" "%SRC_DIR%\*.java" "%BENCH_DIR%\*.java"
+if %ERRORLEVEL% NEQ 0 (
+    echo [X] Compilation failed!
+    exit /b 1
+)
+
+REM Fixed heap so GC behaviour is comparable between runs
+java -Xms512m -Xmx512m -Djava.awt.headless=true -cp "%OUT_DIR%" PathfinderBenchmark %*
+
+endlocal
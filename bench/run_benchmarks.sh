@@ -0,0 +1,23 @@
+#!/bin/bash
+
+# Zombie Defense Game - Pathfinding benchmarks
+# Usage: ./bench/run_benchmarks.sh [--quick] [name filter]
+
+PROJECT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+SRC_DIR="$PROJECT_DIR/src"
+BENCH_DIR="$PROJECT_DIR/bench"
+OUT_DIR="$BENCH_DIR/build"
+
+mkdir -p "$OUT_DIR"
+
+echo "[*] Compiling game and benchmark sources..."
+cd "$PROJECT_DIR"
+javac -d "$OUT_DIR" -sourcepath "$SRC_DIR" "$SRC_DIR"/*.java "$BENCH_DIR"/*.java
+
+if [ $? -ne 0 ]; then
+    echo "[✗] Compilation failed!"
+    exit 1
+fi
+
+# Fixed heap so GC behaviour is comparable between runs
+java -Xms512m -Xmx512m -Djava.awt.headless=true -cp "$OUT_DIR" PathfinderBenchmark "$@"
@@ -0,0 +1,220 @@
+import java.util.Arrays;
+
+// Reusable A* search over flat tile indices (index = y * width + x).
+// All per-node state lives in arrays that are sized once and reused between searches;
+// generation stamps stand in for clearing them, so a search in steady state allocates nothing.
+public class AStarSearch implements GridSearch {
+    // Same neighbour order and costs as the original Pathfinder so paths stay the same
+    private static final int[] DIR_X = { 0, 1, 0, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { 1, 0, -1, 0, 1, -1, 1, -1 };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f; // sqrt(2)
+
+    private float[] gScore;
+    private int[] parent;
+    private int[] seenStamp; // == generation when gScore/parent are valid for this search
+    private int[] closedStamp; // == generation when the node has been expanded
+    private int generation;
+    private IndexedMinHeap openSet;
+
+    private CollisionGrid grid;
+    private ClearanceMap clearance; // null for single-tile agents
+    private int agentTiles;
+    private int mapWidth;
+    private int mapHeight;
+    private int start;
+    private int goal;
+    private int goalX;
+    private int goalY;
+    private Status status;
+    private int expansions;
+
+    public AStarSearch() {
+        this.gScore = new float[0];
+        this.parent = new int[0];
+        this.seenStamp = new int[0];
+        this.closedStamp = new int[0];
+        this.openSet = new IndexedMinHeap(1);
+        this.status = Status.IDLE;
+    }
+
+    @Override
+    public void begin(int start, int goal, CollisionGrid grid) {
+        begin(start, goal, grid, null, 1);
+    }
+
+    // Search for an agent agentTiles wide (anchored at its top-left tile): a tile is only
+    // entered if the agent's whole square fits there, and a diagonal step also needs both
+    // orthogonal tiles it sweeps past to fit, so a large body never clips a corner
+    public void begin(int start, int goal, CollisionGrid grid, ClearanceMap clearance, int agentTiles) {
+        this.grid = grid;
+        this.clearance = (agentTiles > 1) ? clearance : null;
+        this.agentTiles = agentTiles;
+        this.mapHeight = grid.getHeight();
+        this.mapWidth = grid.getWidth();
+        this.start = start;
+        this.goal = goal;
+        this.goalX = goal % mapWidth;
+        this.goalY = goal / mapWidth;
+        this.expansions = 0;
+
+        ensureCapacity(mapWidth * mapHeight);
+        nextGeneration();
+        openSet.clear();
+
+        gScore[start] = 0;
+        parent[start] = -1;
+        seenStamp[start] = generation;
+        openSet.push(start, heuristic(start % mapWidth, start / mapWidth));
+        status = Status.RUNNING;
+    }
+
+    @Override
+    public Status step(int maxExpansions) {
+        if (status != Status.RUNNING)
+            return status;
+
+        int budget = maxExpansions;
+        while (!openSet.isEmpty()) {
+            if (budget-- <= 0)
+                return status;
+
+            int current = openSet.pop();
+            if (current == goal) {
+                status = Status.FOUND;
+                return status;
+            }
+
+            closedStamp[current] = generation;
+            expansions++;
+
+            int cx = current % mapWidth;
+            int cy = current / mapWidth;
+            float currentG = gScore[current];
+
+            for (int i = 0; i < DIR_X.length; i++) {
+                int newX = cx + DIR_X[i];
+                int newY = cy + DIR_Y[i];
+
+                // Check bounds
+                if (newX < 0 || newX >= mapWidth || newY < 0 || newY >= mapHeight)
+                    continue;
+
+                int neighbor = newY * mapWidth + newX;
+
+                // Check if walkable
+                if (clearance == null) {
+                    if (grid.isBlocked(newX, newY))
+                        continue;
+                } else if (clearance.getClearance(neighbor) < agentTiles
+                        || (i >= 4 && (clearance.getClearance(cy * mapWidth + newX) < agentTiles
+                                || clearance.getClearance(newY * mapWidth + cx) < agentTiles))) {
+                    continue;
+                }
+
+                if (closedStamp[neighbor] == generation)
+                    continue;
+
+                float g = currentG + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (seenStamp[neighbor] != generation) {
+                    seenStamp[neighbor] = generation;
+                } else if (g >= gScore[neighbor]) {
+                    continue;
+                }
+
+                gScore[neighbor] = g;
+                parent[neighbor] = current;
+                openSet.push(neighbor, g + heuristic(newX, newY));
+            }
+        }
+
+        status = Status.NO_PATH;
+        return status;
+    }
+
+    @Override
+    public Status run() {
+        return step(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public int getExpansions() {
+        return expansions;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    @Override
+    public int getGoal() {
+        return goal;
+    }
+
+    public int getMapWidth() {
+        return mapWidth;
+    }
+
+    // Parent of a node on the current search tree, -1 for the start
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    public float getPathCost() {
+        return status == Status.FOUND ? gScore[goal] : Float.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int getPathLength() {
+        if (status != Status.FOUND)
+            return 0;
+        int length = 0;
+        for (int node = goal; node != -1; node = parent[node]) {
+            length++;
+        }
+        return length;
+    }
+
+    @Override
+    public int copyPath(int[] out) {
+        int length = getPathLength();
+        if (length == 0 || out.length < length)
+            return length;
+        int i = length - 1;
+        for (int node = goal; node != -1; node = parent[node]) {
+            out[i--] = node;
+        }
+        return length;
+    }
+
+    private float heuristic(int x, int y) {
+        // Manhattan distance heuristic
+        return Math.abs(x - goalX) + Math.abs(y - goalY);
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (gScore.length >= nodes)
+            return;
+        gScore = new float[nodes];
+        parent = new int[nodes];
+        seenStamp = new int[nodes];
+        closedStamp = new int[nodes];
+        generation = 0;
+        openSet.ensureCapacity(nodes);
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // Stamps wrapped around; wipe them once so old values can't look current
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+    }
+}
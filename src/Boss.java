@@ -1,104 +1,180 @@
 
+import java.awt.Point;
+import java.util.Collections;
+
 public class Boss extends Zombie {
+    private static final int TILE_SIZE = 32;
+    private static final float PATHFINDING_UPDATE_INTERVAL = 0.5f;
+    // Attack range: Boss is large (radius ~64). Player radius ~16.
+    // Collision distance ~80. Attack range should be slightly larger, e.g. 100-150.
+    private static final float ATTACK_RANGE = 150.0f;
+    private final Pathfinder sizedPathfinder = new Pathfinder();
+    private float pathfindingTimer;
+
+    // A swing can't be interrupted by a hit, and the Boss never stands idle while it has a
+    // target: it goes straight back to chasing after a flinch
+    private static final ZombieStateMachine BOSS_STATES = new ZombieStateMachine()
+            .on(ZombieStateMachine.IDLE, ZombieStateMachine.MOVE, ZombieStateMachine.CHASE)
+            .on(ZombieStateMachine.IDLE, ZombieStateMachine.REACH, ZombieStateMachine.ATTACK)
+            .on(ZombieStateMachine.IDLE, ZombieStateMachine.DAMAGE, ZombieStateMachine.HURT)
+            .on(ZombieStateMachine.IDLE, ZombieStateMachine.KILL, ZombieStateMachine.DEAD)
+            .on(ZombieStateMachine.CHASE, ZombieStateMachine.REACH, ZombieStateMachine.ATTACK)
+            .on(ZombieStateMachine.CHASE, ZombieStateMachine.DAMAGE, ZombieStateMachine.HURT)
+            .on(ZombieStateMachine.CHASE, ZombieStateMachine.KILL, ZombieStateMachine.DEAD)
+            .on(ZombieStateMachine.ATTACK, ZombieStateMachine.MOVE, ZombieStateMachine.CHASE)
+            .on(ZombieStateMachine.ATTACK, ZombieStateMachine.KILL, ZombieStateMachine.DEAD)
+            .on(ZombieStateMachine.HURT, ZombieStateMachine.RECOVER, ZombieStateMachine.CHASE)
+            .on(ZombieStateMachine.HURT, ZombieStateMachine.KILL, ZombieStateMachine.DEAD);
 
     public Boss(float x, float y, int hp, float speed, int attackDamage) {
         // Boss is 4x size (32 * 4 = 128)
         super(x, y, 128, 128, hp, speed, attackDamage);
     }
 
+    @Override
+    public ZombieStateMachine getStateMachine() {
+        return BOSS_STATES;
+    }
+
     @Override
     protected void loadAnimations() {
         // Use 0 as frameCount to auto-detect based on square frames (width/height)
 
         // Idle Animation
-        idleAnim = loadAnimationFromStrip("assets/skins/boss/Idle.png", 0, 200);
+        idleAnim = loadClipFromStrip("assets/skins/boss/Idle.png", 0, 200, true);
 
         // Move Animation
-        moveAnim = loadAnimationFromStrip("assets/skins/boss/Walk.png", 0, 150);
+        moveAnim = loadClipFromStrip("assets/skins/boss/Walk.png", 0, 150, true);
 
         // Attack Animation
-        attackAnim = loadAnimationFromStrip("assets/skins/boss/Attack.png", 0, 150);
+        attackAnim = loadClipFromStrip("assets/skins/boss/Attack.png", 0, 150, true);
 
         // Hurt Animation
-        hurtAnim = loadAnimationFromStrip("assets/skins/boss/Hurt.png", 0, 100);
-        if (hurtAnim != null) {
-            hurtAnim.setLooping(false);
-        }
+        hurtAnim = loadClipFromStrip("assets/skins/boss/Hurt.png", 0, 100, false);
 
         // Death Animation
-        deadAnim = loadAnimationFromStrip("assets/skins/boss/Dead.png", 0, 100);
-        if (deadAnim != null) {
-            deadAnim.setLooping(false);
-        }
+        deadAnim = loadClipFromStrip("assets/skins/boss/Dead.png", 0, 100, false);
 
         // Set initial animation
         if (idleAnim != null) {
-            currentAnimation = idleAnim;
+            play(ZombieStore.ANIM_IDLE);
         } else if (moveAnim != null) {
         }
     }
 
-    public void updateAI(Player player, Environment environment, float dt) {
-        if (!alive)
+    // Plans with its own sized pathfinder, but on the level's shared clearance map
+    @Override
+    public void planPath(Player player, Environment environment, float dt) {
+        if (!isAlive() || distanceTo(player) < ATTACK_RANGE)
             return;
 
-        this.targetPlayer = player;
+        // Move towards player along a path wide enough for the whole body
+        pathfindingTimer -= dt;
+        if (pathfindingTimer <= 0 || (!path.isEmpty() && pathIndex >= path.size())) {
+            computeSizedPath(player.getX() + player.getWidth() / 2, player.getY() + player.getHeight() / 2,
+                    environment);
+            pathfindingTimer = PATHFINDING_UPDATE_INTERVAL;
+        }
+    }
+
+    @Override
+    public void steer(Player player, Environment environment, float dt) {
+        if (!isAlive())
+            return;
 
-        // Use center-to-center distance for more accurate large-unit interaction
-        float centerX = x + width / 2;
-        float centerY = y + height / 2;
+        this.targetPlayer = player;
+        float centerX = getX() + getWidth() / 2;
         float playerCenterX = player.getX() + player.getWidth() / 2;
         float playerCenterY = player.getY() + player.getHeight() / 2;
 
-        float distanceToPlayer = (float) Math.sqrt(
-                Math.pow(playerCenterX - centerX, 2) + Math.pow(playerCenterY - centerY, 2));
-
-        // Update pathfinding timer
-        // We use a simpler approach for Boss:
-        // If close, move directly. If far, use pathfinding (or just move directly if
-        // map is open).
-        // Given the "back and forth" issue, direct movement when close is smoother.
-
-        // Attack range: Boss is large (radius ~64). Player radius ~16.
-        // Collision distance ~80. Attack range should be slightly larger, e.g. 100-150.
-        float attackRangeThreshold = 150.0f;
-
-        if (distanceToPlayer < attackRangeThreshold) {
-            state = "attacking";
-            velocityX = 0;
-            velocityY = 0;
+        if (distanceTo(player) < ATTACK_RANGE) {
+            fire(ZombieStateMachine.REACH);
+            setVelocityX(0);
+            setVelocityY(0);
 
             // Face player
             if (playerCenterX > centerX)
-                facingRight = true;
+                setFacingRight(true);
             else
-                facingRight = false;
+                setFacingRight(false);
 
-            if (attackTimer <= 0) {
-                attack(player);
-                attackTimer = attackCooldown;
+            if (store.attackTimer[slot] <= 0) {
+                strike(player);
+                store.attackTimer[slot] = attackCooldown;
             }
+        } else if (pathIndex < path.size()) {
+            followPath(dt);
         } else {
-            // Move towards player
-            // If very close (but not attack range), move directly to avoid pathfinding
-            // jitter
-            if (distanceToPlayer < 400) {
-                moveDirectly(playerCenterX, playerCenterY, dt, environment);
-            } else {
-                // Determine direction via pathfinding or direct fallback
-                // For now, simpler direct movement is often more robust for large bosses
-                // unless there are complex mazes. "Zombie" base pathfinding assumes size 32.
-                // We'll use direct movement for proper responsiveness as requested.
-                moveDirectly(playerCenterX, playerCenterY, dt, environment);
-            }
+            // Fall back to direct movement if there is no level to plan on or no path fits
+            moveDirectly(playerCenterX, playerCenterY, dt, environment);
         }
 
-        attackTimer -= dt;
+        store.attackTimer[slot] -= dt;
+    }
+
+    // Use center-to-center distance for more accurate large-unit interaction
+    @Override
+    protected float distanceTo(Player player) {
+        float centerX = getX() + getWidth() / 2;
+        float centerY = getY() + getHeight() / 2;
+        float playerCenterX = player.getX() + player.getWidth() / 2;
+        float playerCenterY = player.getY() + player.getHeight() / 2;
+        return (float) Math.sqrt(Math.pow(playerCenterX - centerX, 2) + Math.pow(playerCenterY - centerY, 2));
+    }
+
+    private void computeSizedPath(float targetX, float targetY, Environment environment) {
+        path = Collections.emptyList();
+        pathIndex = 0;
+        CollisionGrid collisionGrid = environment.getCollisionGrid();
+        if (level == null || collisionGrid == null)
+            return;
+
+        // Plan for the body's top-left tile; aim to put the body's centre on the player
+        float x = getX();
+        float y = getY();
+        int agentTiles = Math.max(1, (int) Math.ceil(getWidth() / (float) TILE_SIZE));
+        ClearanceMap clearance = level.getClearanceMap();
+        int start = clearance.findNearestFit((int) (x / TILE_SIZE), (int) (y / TILE_SIZE), agentTiles, 1);
+        int goal = clearance.findNearestFit((int) (targetX / TILE_SIZE) - agentTiles / 2,
+                (int) (targetY / TILE_SIZE) - agentTiles / 2, agentTiles, agentTiles);
+        if (start < 0 || goal < 0)
+            return;
+
+        int mapWidth = clearance.getMapWidth();
+        path = sizedPathfinder.findPath(new Point(start % mapWidth, start / mapWidth),
+                new Point(goal % mapWidth, goal / mapWidth), collisionGrid, clearance, agentTiles);
+        // The body already overlaps the start tile; heading back to its corner first would
+        // make it jitter every time the path is refreshed
+        if (path.size() > 1 && start == (int) (y / TILE_SIZE) * mapWidth + (int) (x / TILE_SIZE)) {
+            pathIndex = 1;
+        }
+    }
+
+    private void followPath(float dt) {
+        Point node = path.get(pathIndex);
+        float dirX = node.x * TILE_SIZE - getX();
+        float dirY = node.y * TILE_SIZE - getY();
+        float distance = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+
+        // Snap onto the node once the next step would reach it
+        if (distance <= speed * dt) {
+            pathIndex++;
+            setVelocityX(distance > 0 ? dirX / dt : 0);
+            setVelocityY(distance > 0 ? dirY / dt : 0);
+        } else {
+            setVelocityX((dirX / distance) * speed);
+            setVelocityY((dirY / distance) * speed);
+        }
+        fire(ZombieStateMachine.MOVE);
+        if (getVelocityX() > 0)
+            setFacingRight(true);
+        if (getVelocityX() < 0)
+            setFacingRight(false);
     }
 
     private void moveDirectly(float targetX, float targetY, float dt, Environment environment) {
-        float centerX = x + width / 2;
-        float centerY = y + height / 2;
+        float centerX = getX() + getWidth() / 2;
+        float centerY = getY() + getHeight() / 2;
         float dirX = targetX - centerX;
         float dirY = targetY - centerY;
 
@@ -113,14 +189,14 @@ public class Boss extends Zombie {
             // collisions.
 
             // Allow moving smoothly
-            velocityX = vx;
-            velocityY = vy;
-            state = "moving";
+            setVelocityX(vx);
+            setVelocityY(vy);
+            fire(ZombieStateMachine.MOVE);
 
             if (vx > 0)
-                facingRight = true;
+                setFacingRight(true);
             if (vx < 0)
-                facingRight = false;
+                setFacingRight(false);
         }
     }
 }
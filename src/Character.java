@@ -63,7 +63,7 @@ public class Character extends Entity {
     @Override
     public void update(float dt) {
         if (currentAnimation != null) {
-            currentAnimation.update();
+            currentAnimation.update(dt);
             currentFrame = currentAnimation.getCurrentFrame();
         }
     }
@@ -80,31 +80,18 @@ public class Character extends Entity {
     }
 
     protected graphics.Animation loadAnimationFromStrip(String path, int frameCount, int speed) {
+        return loadAnimationFromStrip(path, frameCount, speed, true);
+    }
+
+    // A playhead of its own over the shared clip for the strip
+    protected graphics.Animation loadAnimationFromStrip(String path, int frameCount, int speed, boolean looping) {
+        graphics.AnimationClip clip = loadClipFromStrip(path, frameCount, speed, looping);
+        return clip != null ? new graphics.Animation(clip) : null;
+    }
+
+    protected graphics.AnimationClip loadClipFromStrip(String path, int frameCount, int speed, boolean looping) {
         try {
-            java.awt.image.BufferedImage strip = graphics.ResourceManager.getTexture(path);
-            if (strip != null) {
-                // Auto-detect frame count if 0 or negative
-                if (frameCount <= 0) {
-                    if (strip.getHeight() > 0) {
-                        frameCount = strip.getWidth() / strip.getHeight();
-                    } else {
-                        frameCount = 1; // Safety fallback
-                    }
-                }
-
-                // Prevent division by zero
-                if (frameCount < 1)
-                    frameCount = 1;
-
-                int frameWidth = strip.getWidth() / frameCount;
-                int frameHeight = strip.getHeight();
-
-                java.awt.image.BufferedImage[] frames = new java.awt.image.BufferedImage[frameCount];
-                for (int i = 0; i < frameCount; i++) {
-                    frames[i] = strip.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-                }
-                return new graphics.Animation(speed, frames);
-            }
+            return graphics.ResourceManager.getClip(path, frameCount, speed, looping);
         } catch (Exception e) {
             System.err.println("Error loading animation from " + path + ": " + e.getMessage());
         }
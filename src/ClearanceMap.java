@@ -0,0 +1,111 @@
+// Clearance transform of the Environment collision map: for every tile, the side length of
+// the largest square of walkable tiles whose top-left corner is that tile (0 on a blocked
+// tile, capped at MAX_CLEARANCE). An agent n tiles wide, anchored at its top-left tile like
+// every Entity, fits wherever clearance >= n. Listens for tile edits and only recomputes the
+// block of tiles above and to the left of the edit that the change can reach.
+public class ClearanceMap implements CollisionListener {
+    public static final int MAX_CLEARANCE = 8;
+
+    private final Environment environment;
+    private CollisionGrid grid;
+    private int cols;
+    private int rows;
+    private int[] clearance; // index = y * cols + x
+    private boolean needsFullRebuild;
+
+    public ClearanceMap(Environment environment) {
+        this.environment = environment;
+        this.needsFullRebuild = true;
+    }
+
+    @Override
+    public void collisionTileChanged(int tileX, int tileY) {
+        if (needsFullRebuild || tileX < 0 || tileY < 0 || tileX >= cols || tileY >= rows)
+            return;
+        // A tile only feeds the squares anchored up to MAX_CLEARANCE - 1 tiles up/left of it
+        recompute(Math.max(0, tileX - MAX_CLEARANCE + 1), Math.max(0, tileY - MAX_CLEARANCE + 1),
+                tileX, tileY);
+    }
+
+    @Override
+    public void collisionMapReplaced() {
+        needsFullRebuild = true;
+    }
+
+    public int getClearance(int tileX, int tileY) {
+        refresh();
+        if (clearance == null || tileX < 0 || tileY < 0 || tileX >= cols || tileY >= rows)
+            return 0;
+        return clearance[tileY * cols + tileX];
+    }
+
+    // Unchecked index lookup for searches; call refresh() once before the search
+    public int getClearance(int index) {
+        return clearance[index];
+    }
+
+    public boolean fits(int tileX, int tileY, int agentTiles) {
+        return getClearance(tileX, tileY) >= agentTiles;
+    }
+
+    // Closest tile (Chebyshev rings) within maxRadius of (tileX, tileY) where an agent of the
+    // given size fits, as a tile index; -1 if there is none
+    public int findNearestFit(int tileX, int tileY, int agentTiles, int maxRadius) {
+        refresh();
+        if (clearance == null)
+            return -1;
+        for (int radius = 0; radius <= maxRadius; radius++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                for (int dx = -radius; dx <= radius; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != radius)
+                        continue;
+                    int x = tileX + dx;
+                    int y = tileY + dy;
+                    if (x >= 0 && y >= 0 && x < cols && y < rows && clearance[y * cols + x] >= agentTiles)
+                        return y * cols + x;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public int getMapWidth() {
+        refresh();
+        return cols;
+    }
+
+    // Rebuilds if the collision map was replaced since the last query
+    public void refresh() {
+        CollisionGrid current = environment.getCollisionGrid();
+        if (current == null || current.getHeight() == 0)
+            return;
+        if (!needsFullRebuild && current == grid && current.getHeight() == rows && current.getWidth() == cols)
+            return;
+
+        grid = current;
+        rows = current.getHeight();
+        cols = current.getWidth();
+        if (clearance == null || clearance.length != rows * cols) {
+            clearance = new int[rows * cols];
+        }
+        needsFullRebuild = false;
+        recompute(0, 0, cols - 1, rows - 1);
+    }
+
+    // Recomputes the rectangle bottom-right first; cells right of or below it are current
+    private void recompute(int minX, int minY, int maxX, int maxY) {
+        for (int y = maxY; y >= minY; y--) {
+            for (int x = maxX; x >= minX; x--) {
+                int index = y * cols + x;
+                if (grid.isBlocked(x, y)) {
+                    clearance[index] = 0;
+                    continue;
+                }
+                int right = (x + 1 < cols) ? clearance[index + 1] : 0;
+                int down = (y + 1 < rows) ? clearance[index + cols] : 0;
+                int diagonal = (x + 1 < cols && y + 1 < rows) ? clearance[index + cols + 1] : 0;
+                clearance[index] = Math.min(MAX_CLEARANCE, 1 + Math.min(right, Math.min(down, diagonal)));
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tile collision map packed one bit per tile (1 = blocked), 64 tiles per long, each row
+// starting on a fresh word. A 256x256 map is 8 KB instead of the 256 KB of an int[][], and a
+// row of up to 64 tiles is a single cache-friendly word, so span and row queries test many
+// tiles per instruction. Tiles outside the grid count as blocked.
+//
+// Every edit takes a new version from one global counter, so a version never repeats across
+// edits or across grids: caches keyed on it (flow fields, path caches, snapshots) stay valid
+// exactly as long as the map they were built from.
+public class CollisionGrid {
+    private static final AtomicInteger VERSIONS = new AtomicInteger();
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;
+    private int version;
+
+    public CollisionGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.bits = new long[wordsPerRow * height];
+        this.version = VERSIONS.incrementAndGet();
+    }
+
+    // Non-zero cells are blocked
+    public static CollisionGrid fromArray(int[][] tiles) {
+        int rows = tiles.length;
+        int cols = rows == 0 ? 0 : tiles[0].length;
+        CollisionGrid grid = new CollisionGrid(cols, rows);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols && x < tiles[y].length; x++) {
+                if (tiles[y][x] != 0) {
+                    grid.bits[y * grid.wordsPerRow + (x >>> 6)] |= 1L << x;
+                }
+            }
+        }
+        return grid;
+    }
+
+    public CollisionGrid copy() {
+        CollisionGrid copy = new CollisionGrid(width, height);
+        System.arraycopy(bits, 0, copy.bits, 0, bits.length);
+        copy.version = version;
+        return copy;
+    }
+
+    // Overwrites this grid with the overlapping part of another one (rows copied word by word);
+    // anything outside the other grid becomes walkable. Used to pad or crop a loaded map.
+    public void copyFrom(CollisionGrid other) {
+        Arrays.fill(bits, 0L);
+        int rows = Math.min(height, other.height);
+        int cols = Math.min(width, other.width);
+        int fullWords = cols >>> 6;
+        for (int y = 0; y < rows; y++) {
+            System.arraycopy(other.bits, y * other.wordsPerRow, bits, y * wordsPerRow, fullWords);
+            int rest = cols & 63;
+            if (rest != 0) {
+                bits[y * wordsPerRow + fullWords] = other.bits[y * other.wordsPerRow + fullWords] & ((1L << rest) - 1);
+            }
+        }
+        version = VERSIONS.incrementAndGet();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isBlocked(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return true;
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return !isBlocked(x, y);
+    }
+
+    public void setBlocked(int x, int y, boolean blocked) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        int word = y * wordsPerRow + (x >>> 6);
+        if (blocked) {
+            bits[word] |= 1L << x;
+        } else {
+            bits[word] &= ~(1L << x);
+        }
+        version = VERSIONS.incrementAndGet();
+    }
+
+    // Blocks the outermost ring of tiles
+    public void blockBorders() {
+        for (int x = 0; x < width; x++) {
+            setBit(x, 0);
+            setBit(x, height - 1);
+        }
+        for (int y = 0; y < height; y++) {
+            setBit(0, y);
+            setBit(width - 1, y);
+        }
+        version = VERSIONS.incrementAndGet();
+    }
+
+    // First blocked tile in row y at or after fromX, or width if the rest of the row is free
+    public int nextBlocked(int y, int fromX) {
+        return scan(y, fromX, 0L);
+    }
+
+    // First walkable tile in row y at or after fromX, or width if there is none
+    public int nextWalkable(int y, int fromX) {
+        return scan(y, fromX, -1L);
+    }
+
+    // True if every tile of the rectangle (inclusive tile bounds) is walkable; out-of-grid
+    // tiles count as blocked. Tests each row a word at a time.
+    public boolean isAreaWalkable(int minX, int minY, int maxX, int maxY) {
+        if (minX < 0 || minY < 0 || maxX >= width || maxY >= height)
+            return false;
+        for (int y = minY; y <= maxY; y++) {
+            if (nextBlocked(y, minX) <= maxX)
+                return false;
+        }
+        return true;
+    }
+
+    // Bresenham-style walk over every tile the line between two tile centres touches
+    // (supercover). Where the line passes exactly through a tile corner both tiles beside the
+    // corner must be walkable, so a line never squeezes between two diagonal walls.
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int stepX = x1 > x0 ? 1 : -1;
+        int stepY = y1 > y0 ? 1 : -1;
+        int error = dx - dy;
+        int x = x0;
+        int y = y0;
+        dx *= 2;
+        dy *= 2;
+
+        for (int n = 1 + (dx + dy) / 2; n > 0; n--) {
+            if (isBlocked(x, y))
+                return false;
+            if (error > 0) {
+                x += stepX;
+                error -= dy;
+            } else if (error < 0) {
+                y += stepY;
+                error += dx;
+            } else {
+                if (n > 1 && (isBlocked(x + stepX, y) || isBlocked(x, y + stepY)))
+                    return false;
+                x += stepX;
+                y += stepY;
+                error += dx - dy;
+                n--;
+            }
+        }
+        return true;
+    }
+
+    // Grid DDA along the segment from (x0, y0) to (x1, y1), in tile units (2.5 is the middle of
+    // tile 2): visits the crossed tiles in order, one per tile boundary, and returns the fraction
+    // of the segment at which it first enters a blocked tile. 0 if it starts in one,
+    // POSITIVE_INFINITY if every tile it crosses is walkable.
+    public float castRay(float x0, float y0, float x1, float y1) {
+        int x = (int) Math.floor(x0);
+        int y = (int) Math.floor(y0);
+        if (isBlocked(x, y))
+            return 0f;
+
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        // Segment fraction per whole tile, and to the first tile boundary on each axis
+        float deltaX = dx != 0 ? Math.abs(1f / dx) : Float.POSITIVE_INFINITY;
+        float deltaY = dy != 0 ? Math.abs(1f / dy) : Float.POSITIVE_INFINITY;
+        float nextX = dx > 0 ? (x + 1 - x0) * deltaX : dx < 0 ? (x0 - x) * deltaX : Float.POSITIVE_INFINITY;
+        float nextY = dy > 0 ? (y + 1 - y0) * deltaY : dy < 0 ? (y0 - y) * deltaY : Float.POSITIVE_INFINITY;
+
+        int steps = Math.abs((int) Math.floor(x1) - x) + Math.abs((int) Math.floor(y1) - y);
+        for (; steps > 0; steps--) {
+            float t;
+            if (nextX < nextY) {
+                x += stepX;
+                t = nextX;
+                nextX += deltaX;
+            } else {
+                y += stepY;
+                t = nextY;
+                nextY += deltaY;
+            }
+            if (isBlocked(x, y))
+                return Math.min(t, 1f);
+        }
+        return Float.POSITIVE_INFINITY;
+    }
+
+    // Unpacked copy (1 = blocked) for code that wants a plain array
+    public int[][] toArray() {
+        int[][] tiles = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                tiles[y][x] = isBlocked(x, y) ? 1 : 0;
+            }
+        }
+        return tiles;
+    }
+
+    private void setBit(int x, int y) {
+        if (x >= 0 && y >= 0 && x < width && y < height) {
+            bits[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+        }
+    }
+
+    // Finds the first tile at or after fromX whose bit differs from the fill pattern
+    // (0 = looking for a set bit, -1 = looking for a clear bit)
+    private int scan(int y, int fromX, long fill) {
+        if (y < 0 || y >= height || fromX >= width)
+            return width;
+        int x = Math.max(0, fromX);
+        int rowStart = y * wordsPerRow;
+        int word = x >>> 6;
+        long bitsLeft = (bits[rowStart + word] ^ fill) & (-1L << x);
+        while (true) {
+            if (bitsLeft != 0) {
+                int found = (word << 6) + Long.numberOfTrailingZeros(bitsLeft);
+                return Math.min(found, width);
+            }
+            word++;
+            if (word >= wordsPerRow)
+                return width;
+            bitsLeft = bits[rowStart + word] ^ fill;
+        }
+    }
+}
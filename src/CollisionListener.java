@@ -0,0 +1,7 @@
+// Notified by Environment whenever its collision map changes
+public interface CollisionListener {
+    void collisionTileChanged(int tileX, int tileY);
+
+    // The whole map was swapped or rewritten (setCollisionTiles, ensureBorders)
+    void collisionMapReplaced();
+}
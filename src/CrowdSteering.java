@@ -0,0 +1,124 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Boids-style separation applied on top of the velocity each zombie's AI picked: zombies that
+// crowd closer than their combined half-widths push each other apart, so a horde following the
+// same path spreads into a column instead of stacking on one pixel. Neighbours come from the
+// level's spatial index and at most MAX_NEIGHBOURS of them are considered per zombie, so the
+// cost per zombie stays bounded however large the horde gets.
+//
+// Every push is computed from positions before anyone moves, so the result does not depend on
+// the order zombies are processed in.
+public class CrowdSteering {
+    private static final int MAX_NEIGHBOURS = 8;
+    private static final float SPACING = 0.9f; // desired centre distance, in combined half-widths
+    private static final float DEFAULT_STRENGTH = 1.5f; // push at full overlap, in units of speed
+    private static final float GOLDEN_ANGLE = 2.39996f;
+
+    private final List<Zombie> neighbours;
+    private float strength;
+    private boolean enabled;
+
+    public CrowdSteering() {
+        this.neighbours = new ArrayList<>();
+        this.strength = DEFAULT_STRENGTH;
+        this.enabled = true;
+    }
+
+    // Call after ZombieAiPhase.run and before zombies move; index must hold current positions
+    public void apply(List<Zombie> zombies, SpatialIndex<Zombie> index, Environment environment, float dt) {
+        if (!enabled)
+            return;
+        for (int i = 0; i < zombies.size(); i++) {
+            Zombie zombie = zombies.get(i);
+            if (zombie.isAlive()) {
+                steer(zombie, i, index, environment, dt);
+            }
+        }
+    }
+
+    private void steer(Zombie zombie, int slot, SpatialIndex<Zombie> index, Environment environment, float dt) {
+        // Agents wider than a tile follow clearance-checked paths (the Boss) and a shove could
+        // wedge them against a wall, so they push others but are not pushed themselves
+        if (zombie.getWidth() > environment.getTileSize())
+            return;
+
+        float halfWidth = zombie.getWidth() / 2f;
+        float halfHeight = zombie.getHeight() / 2f;
+        float centerX = zombie.getX() + halfWidth;
+        float centerY = zombie.getY() + halfHeight;
+
+        // Centres closer than the spacing means the boxes overlap, so our own box is the query
+        neighbours.clear();
+        index.queryAABB(zombie.getX(), zombie.getY(), zombie.getX() + zombie.getWidth(),
+                zombie.getY() + zombie.getHeight(), neighbours);
+
+        float pushX = 0;
+        float pushY = 0;
+        int considered = 0;
+        for (int n = 0; n < neighbours.size() && considered < MAX_NEIGHBOURS; n++) {
+            Zombie other = neighbours.get(n);
+            if (other == zombie || !other.isAlive())
+                continue;
+            considered++;
+
+            float otherHalf = other.getWidth() / 2f;
+            float spacing = (halfWidth + otherHalf) * SPACING;
+            float dx = centerX - (other.getX() + otherHalf);
+            float dy = centerY - (other.getY() + other.getHeight() / 2f);
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            if (distance >= spacing)
+                continue;
+            if (distance < 0.001f) {
+                // Exactly stacked: spread by list slot so each zombie picks a different way out
+                dx = (float) Math.cos(slot * GOLDEN_ANGLE);
+                dy = (float) Math.sin(slot * GOLDEN_ANGLE);
+                distance = 1;
+            }
+            // Stronger the deeper the overlap, and bigger neighbours push harder
+            float weight = (spacing - distance) / spacing * (2 * otherHalf / (halfWidth + otherHalf));
+            pushX += dx / distance * weight;
+            pushY += dy / distance * weight;
+        }
+        if (pushX == 0 && pushY == 0)
+            return;
+
+        float speed = zombie.getSpeed();
+        float vx = zombie.getVelocityX() + pushX * speed * strength;
+        float vy = zombie.getVelocityY() + pushY * speed * strength;
+        // Separation redirects a zombie; it never makes it faster than it can walk
+        float length = (float) Math.sqrt(vx * vx + vy * vy);
+        if (length > speed && length > 0) {
+            vx = vx / length * speed;
+            vy = vy / length * speed;
+        }
+
+        // Never push into a wall; try each axis alone before giving up on the push
+        float x = zombie.getX();
+        float y = zombie.getY();
+        if (environment.isWalkable(x + vx * dt, y + vy * dt)) {
+            zombie.setVelocityX(vx);
+            zombie.setVelocityY(vy);
+        } else if (environment.isWalkable(x + vx * dt, y + zombie.getVelocityY() * dt)) {
+            zombie.setVelocityX(vx);
+        } else if (environment.isWalkable(x + zombie.getVelocityX() * dt, y + vy * dt)) {
+            zombie.setVelocityY(vy);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public float getStrength() {
+        return strength;
+    }
+
+    public void setStrength(float strength) {
+        this.strength = Math.max(0, strength);
+    }
+}
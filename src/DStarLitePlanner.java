@@ -0,0 +1,276 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// D* Lite planner for one zombie. The search runs backwards from the player's tile, so
+// g-values are costs-to-player, and it keeps its state between calls: when a collision tile
+// toggles only the vertices around it are re-queued, when the zombie moves the key modifier
+// km absorbs the shift, and when the player moves to another tile the old and new goal are
+// re-queued (the goal is just the vertex pinned to rhs = 0). Registered as a
+// CollisionListener so Environment edits reach it directly.
+public class DStarLitePlanner implements CollisionListener {
+    private static final int[] DIR_X = { 0, 1, 0, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { 1, 0, -1, 0, 1, -1, 1, -1 };
+    // Costs are kept as integers (1.0 / 1.414 scaled by 1000) and keys as exact longs so keys
+    // that tie in theory also tie in practice; float sums along different routes can land a
+    // rounding error apart and make the search stop before an inconsistent vertex on the path
+    // is repaired
+    private static final int STRAIGHT_COST = 1000;
+    private static final int DIAGONAL_COST = 1414; // sqrt(2)
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final long INFINITE_KEY = Long.MAX_VALUE / 4; // leaves room to add h and km
+
+    private final Environment environment;
+    private CollisionGrid grid;
+    private int cols;
+    private int rows;
+    private int[] g;
+    private int[] rhs;
+    private IndexedLongMinHeap openSet;
+    private long km;
+    private int start;
+    private int goal;
+    private boolean initialized;
+    private boolean changedSinceLastPlan;
+    private int lastExpansions;
+
+    public DStarLitePlanner(Environment environment) {
+        this.environment = environment;
+        this.openSet = new IndexedLongMinHeap(1);
+        this.initialized = false;
+    }
+
+    @Override
+    public void collisionTileChanged(int tileX, int tileY) {
+        if (!initialized || tileX < 0 || tileY < 0 || tileX >= cols || tileY >= rows)
+            return;
+
+        // Every edge touching the tile changed cost; re-evaluate both ends
+        updateVertex(tileY * cols + tileX);
+        for (int i = 0; i < DIR_X.length; i++) {
+            int nx = tileX + DIR_X[i];
+            int ny = tileY + DIR_Y[i];
+            if (nx >= 0 && nx < cols && ny >= 0 && ny < rows) {
+                updateVertex(ny * cols + nx);
+            }
+        }
+        changedSinceLastPlan = true;
+    }
+
+    @Override
+    public void collisionMapReplaced() {
+        initialized = false;
+        changedSinceLastPlan = true;
+    }
+
+    // True if the map changed since the last plan() and the current path may be stale
+    public boolean needsReplan() {
+        return changedSinceLastPlan;
+    }
+
+    public List<Point> plan(Point startPoint, Point goalPoint) {
+        changedSinceLastPlan = false;
+        CollisionGrid current = environment.getCollisionGrid();
+        if (current == null || current.getHeight() == 0 || startPoint == null || goalPoint == null)
+            return Collections.emptyList();
+
+        if (current != grid || current.getHeight() != rows || current.getWidth() != cols) {
+            initialized = false;
+        }
+
+        int newStart = clampedIndex(startPoint, current);
+        int newGoal = clampedIndex(goalPoint, current);
+
+        if (!initialized) {
+            initialize(current, newStart, newGoal);
+        } else {
+            if (newStart != start) {
+                km += heuristic(start, newStart);
+                start = newStart;
+            }
+            if (newGoal != goal) {
+                int oldGoal = goal;
+                goal = newGoal;
+                updateVertex(oldGoal);
+                updateVertex(newGoal);
+            }
+        }
+
+        lastExpansions = 0;
+        if (isBlocked(start) || isBlocked(goal))
+            return Collections.emptyList();
+
+        computeShortestPath();
+        return extractPath();
+    }
+
+    // Vertices popped by the most recent plan()
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    // Stops listening for tile changes; call when the owner is discarded
+    public void dispose() {
+        environment.removeCollisionListener(this);
+    }
+
+    private void initialize(CollisionGrid current, int newStart, int newGoal) {
+        grid = current;
+        rows = current.getHeight();
+        cols = current.getWidth();
+        int nodes = rows * cols;
+        if (g == null || g.length < nodes) {
+            g = new int[nodes];
+            rhs = new int[nodes];
+            openSet.ensureCapacity(nodes);
+        }
+        Arrays.fill(g, 0, nodes, INFINITY);
+        Arrays.fill(rhs, 0, nodes, INFINITY);
+        openSet.clear();
+        km = 0;
+        start = newStart;
+        goal = newGoal;
+        rhs[goal] = 0;
+        pushWithKey(goal);
+        initialized = true;
+    }
+
+    private void computeShortestPath() {
+        while (!openSet.isEmpty()) {
+            long startK2 = keyOf(Math.min(g[start], rhs[start]));
+            long startK1 = startK2 + km;
+            long topK1 = openSet.peekKey();
+            long topK2 = openSet.peekTieKey();
+            boolean topBelowStart = topK1 < startK1 || (topK1 == startK1 && topK2 < startK2);
+            if (!topBelowStart && rhs[start] == g[start])
+                break;
+
+            int u = openSet.peek();
+            long newK2 = keyOf(Math.min(g[u], rhs[u]));
+            long newK1 = newK2 + heuristic(start, u) + km;
+            if (topK1 < newK1 || (topK1 == newK1 && topK2 < newK2)) {
+                // Key went stale after the start moved; requeue with the current one
+                openSet.push(u, newK1, newK2);
+                continue;
+            }
+
+            openSet.pop();
+            lastExpansions++;
+            if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                updateNeighbours(u);
+            } else {
+                g[u] = INFINITY;
+                updateVertex(u);
+                updateNeighbours(u);
+            }
+        }
+    }
+
+    private void updateNeighbours(int u) {
+        int ux = u % cols;
+        int uy = u / cols;
+        for (int i = 0; i < DIR_X.length; i++) {
+            int nx = ux + DIR_X[i];
+            int ny = uy + DIR_Y[i];
+            if (nx >= 0 && nx < cols && ny >= 0 && ny < rows) {
+                updateVertex(ny * cols + nx);
+            }
+        }
+    }
+
+    private void updateVertex(int u) {
+        if (u != goal) {
+            int best = INFINITY;
+            if (!isBlocked(u)) {
+                int ux = u % cols;
+                int uy = u / cols;
+                for (int i = 0; i < DIR_X.length; i++) {
+                    int nx = ux + DIR_X[i];
+                    int ny = uy + DIR_Y[i];
+                    if (nx < 0 || nx >= cols || ny < 0 || ny >= rows || grid.isBlocked(nx, ny))
+                        continue;
+                    int neighbour = g[ny * cols + nx];
+                    if (neighbour == INFINITY)
+                        continue;
+                    int candidate = neighbour + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                    if (candidate < best)
+                        best = candidate;
+                }
+            }
+            rhs[u] = best;
+        } else {
+            rhs[u] = isBlocked(u) ? INFINITY : 0;
+        }
+
+        openSet.remove(u);
+        if (g[u] != rhs[u]) {
+            pushWithKey(u);
+        }
+    }
+
+    private void pushWithKey(int u) {
+        long k2 = keyOf(Math.min(g[u], rhs[u]));
+        openSet.push(u, k2 + heuristic(start, u) + km, k2);
+    }
+
+    private static long keyOf(int cost) {
+        return cost == INFINITY ? INFINITE_KEY : cost;
+    }
+
+    // Greedy descent on g from the start to the goal
+    private List<Point> extractPath() {
+        if (g[start] == INFINITY && rhs[start] == INFINITY)
+            return Collections.emptyList();
+
+        List<Point> path = new ArrayList<>();
+        int current = start;
+        path.add(new Point(current % cols, current / cols));
+        int maxSteps = rows * cols;
+        while (current != goal && path.size() <= maxSteps) {
+            int cx = current % cols;
+            int cy = current / cols;
+            int next = -1;
+            long best = INFINITY;
+            for (int i = 0; i < DIR_X.length; i++) {
+                int nx = cx + DIR_X[i];
+                int ny = cy + DIR_Y[i];
+                if (nx < 0 || nx >= cols || ny < 0 || ny >= rows || grid.isBlocked(nx, ny))
+                    continue;
+                int neighbor = ny * cols + nx;
+                if (g[neighbor] == INFINITY)
+                    continue;
+                long candidate = (long) g[neighbor] + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (candidate < best) {
+                    best = candidate;
+                    next = neighbor;
+                }
+            }
+            if (next < 0 || best == INFINITY)
+                return Collections.emptyList();
+            current = next;
+            path.add(new Point(current % cols, current / cols));
+        }
+        return current == goal ? path : Collections.emptyList();
+    }
+
+    private boolean isBlocked(int u) {
+        return grid.isBlocked(u % cols, u / cols);
+    }
+
+    private int heuristic(int a, int b) {
+        // Octile distance, consistent with the straight/diagonal step costs
+        int dx = Math.abs(a % cols - b % cols);
+        int dy = Math.abs(a / cols - b / cols);
+        int diagonal = Math.min(dx, dy);
+        return diagonal * DIAGONAL_COST + (Math.max(dx, dy) - diagonal) * STRAIGHT_COST;
+    }
+
+    private static int clampedIndex(Point point, CollisionGrid map) {
+        int x = Math.max(0, Math.min(point.x, map.getWidth() - 1));
+        int y = Math.max(0, Math.min(point.y, map.getHeight() - 1));
+        return y * map.getWidth() + x;
+    }
+}
@@ -8,10 +8,14 @@ public abstract class Entity {
     protected boolean alive;
     protected Rectangle bounds;
     protected float speed;
+    protected float previousX; // position at the start of the current tick, for render interpolation
+    protected float previousY;
 
     public Entity(float x, float y, int width, int height) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.width = width;
         this.height = height;
         this.velocityX = 0;
@@ -35,6 +39,29 @@ public abstract class Entity {
         return x;
     }
 
+    // Remembers where the entity is before a tick moves it
+    public void savePreviousPosition() {
+        previousX = getX();
+        previousY = getY();
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
+    }
+
+    // Where to draw the entity alpha of the way from its previous position to its current one
+    public float getRenderX(float alpha) {
+        return getPreviousX() + (getX() - getPreviousX()) * alpha;
+    }
+
+    public float getRenderY(float alpha) {
+        return getPreviousY() + (getY() - getPreviousY()) * alpha;
+    }
+
     public void setX(float x) {
         this.x = x;
     }
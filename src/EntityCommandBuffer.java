@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+// Spawns and despawns requested while a level is mid-tick. Level records them here instead of
+// changing its zombie store or projectile pool under the loops walking them, and plays them
+// back in recorded order at one sync point at the end of the tick, so every loop in the tick
+// sees a stable set of slots.
+//
+// Commands are kept in flat arrays reused from tick to tick: an opcode, an optional entity and
+// up to ARGS float arguments each, so recording allocates nothing once the arrays have grown.
+public class EntityCommandBuffer {
+    // Opcodes
+    public static final byte ADD_ZOMBIE = 0; // entity: a constructed Zombie or Boss
+    public static final byte SPAWN_ZOMBIE = 1; // args: x, y, width, height, hp, speed, damage (pooled)
+    public static final byte REMOVE_ZOMBIE = 2; // entity: the zombie
+    public static final byte DESPAWN_ZOMBIE = 3; // entity: a finished dead zombie, back to the pool
+    public static final byte ADD_PROJECTILE = 4; // entity: a constructed Projectile
+    public static final byte SPAWN_PROJECTILE = 5; // args: x, y, dx, dy, speed, damage, maxDistance
+    public static final byte DESTROY_PROJECTILE = 6; // entity: an inactive projectile
+
+    public static final int ARGS = 7;
+
+    private byte[] ops;
+    private Object[] entities;
+    private float[] args;
+    private int count;
+
+    public EntityCommandBuffer() {
+        this.ops = new byte[32];
+        this.entities = new Object[32];
+        this.args = new float[32 * ARGS];
+    }
+
+    public void record(byte op, Object entity) {
+        int command = append(op);
+        entities[command] = entity;
+    }
+
+    public void record(byte op, float a, float b, float c, float d, float e, float f, float g) {
+        int command = append(op);
+        int base = command * ARGS;
+        args[base] = a;
+        args[base + 1] = b;
+        args[base + 2] = c;
+        args[base + 3] = d;
+        args[base + 4] = e;
+        args[base + 5] = f;
+        args[base + 6] = g;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte op(int command) {
+        return ops[command];
+    }
+
+    public Object entity(int command) {
+        return entities[command];
+    }
+
+    public float arg(int command, int index) {
+        return args[command * ARGS + index];
+    }
+
+    // Call once the commands have been played back
+    public void clear() {
+        Arrays.fill(entities, 0, count, null);
+        count = 0;
+    }
+
+    private int append(byte op) {
+        if (count == ops.length) {
+            int capacity = count * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            entities = Arrays.copyOf(entities, capacity);
+            args = Arrays.copyOf(args, capacity * ARGS);
+        }
+        ops[count] = op;
+        return count++;
+    }
+}
@@ -3,8 +3,9 @@ import java.util.ArrayList;
 
 public class Environment {
     private String background; // Background image path
-    private int[][] collisionTiles; // Collision map (0 = walkable, 1 = obstacle)
+    private CollisionGrid collisionGrid; // Collision map, one bit per tile (set = obstacle)
     private List<Entity> objects;
+    private List<CollisionListener> collisionListeners;
     private int tileSize;
     private int width; // Map width in pixels
     private int height; // Map height in pixels
@@ -14,7 +15,8 @@ public class Environment {
         this.height = height;
         this.tileSize = tileSize;
         this.objects = new ArrayList<>();
-        this.collisionTiles = new int[height / tileSize][width / tileSize];
+        this.collisionListeners = new ArrayList<>();
+        this.collisionGrid = new CollisionGrid(width / tileSize, height / tileSize);
     }
 
     public void update(float dt) {
@@ -49,15 +51,23 @@ public class Environment {
         int tileX = (int) (x / tileSize);
         int tileY = (int) (y / tileSize);
 
-        if (tileX < 0 || tileX >= collisionTiles[0].length ||
-            tileY < 0 || tileY >= collisionTiles.length) {
-            return false;
-        }
+        // Out-of-map tiles count as blocked
+        return collisionGrid.isWalkable(tileX, tileY);
+    }
 
-        return collisionTiles[tileY][tileX] == 0;
+    // Fraction of the pixel segment at which it first enters a blocked tile, POSITIVE_INFINITY
+    // if it stays on walkable tiles; see CollisionGrid.castRay
+    public float castRay(float x0, float y0, float x1, float y1) {
+        return collisionGrid.castRay(x0 / tileSize, y0 / tileSize, x1 / tileSize, y1 / tileSize);
     }
 
-    public void checkCollisions(Player player, List<Zombie> zombies) {
+    // True if every tile under the pixel rectangle is walkable
+    public boolean isAreaWalkable(float x, float y, float areaWidth, float areaHeight) {
+        return collisionGrid.isAreaWalkable((int) (x / tileSize), (int) (y / tileSize),
+                (int) ((x + areaWidth - 1) / tileSize), (int) ((y + areaHeight - 1) / tileSize));
+    }
+
+    public void checkCollisions(Player player, ZombieStore zombies) {
         // Check player collision with environment
         // Clamp player to the window bounds (strict bounds check)
         float playerX = player.getX();
@@ -77,43 +87,37 @@ public class Environment {
         if (playerX + player.getWidth() > width) player.setX(width - player.getWidth());
         if (playerY + player.getHeight() > height) player.setY(height - player.getHeight());
 
-        // Check zombie collisions with player
-        for (Zombie zombie : zombies) {
-            if (zombie.isAlive() && player.isAlive()) {
-                if (player.checkCollision(zombie)) {
-                    // Collision between player and zombie
-                    // Zombie will attack through AI
-                }
-            }
-        }
-
-        // Check zombie collisions with environment
-        for (Zombie zombie : zombies) {
+        // Player/zombie contact is handled by the zombie AI (attack range), so only the zombies
+        // need a pass here, to keep them on the map
+        // Check zombie collisions with environment, one pass over the store's arrays
+        float[] xs = zombies.x;
+        float[] ys = zombies.y;
+        for (int i = 0; i < zombies.size(); i++) {
             // Clamp zombies to the tile grid bounds as well
-            if (collisionTiles != null && collisionTiles.length > 0) {
-                int cols = collisionTiles[0].length;
-                int rows = collisionTiles.length;
-                float maxXz = cols * tileSize - zombie.getWidth();
-                float maxYz = rows * tileSize - zombie.getHeight();
-                if (zombie.getX() < 0) zombie.setX(0);
-                if (zombie.getY() < 0) zombie.setY(0);
-                if (zombie.getX() > maxXz) zombie.setX(maxXz);
-                if (zombie.getY() > maxYz) zombie.setY(maxYz);
+            if (collisionGrid != null && collisionGrid.getHeight() > 0) {
+                int cols = collisionGrid.getWidth();
+                int rows = collisionGrid.getHeight();
+                float maxXz = cols * tileSize - zombies.width[i];
+                float maxYz = rows * tileSize - zombies.height[i];
+                if (xs[i] < 0) xs[i] = 0;
+                if (ys[i] < 0) ys[i] = 0;
+                if (xs[i] > maxXz) xs[i] = maxXz;
+                if (ys[i] > maxYz) ys[i] = maxYz;
             } else {
-                if (zombie.getX() < 0) zombie.setX(0);
-                if (zombie.getY() < 0) zombie.setY(0);
-                if (zombie.getX() + zombie.getWidth() > width) zombie.setX(width - zombie.getWidth());
-                if (zombie.getY() + zombie.getHeight() > height) zombie.setY(height - zombie.getHeight());
+                if (xs[i] < 0) xs[i] = 0;
+                if (ys[i] < 0) ys[i] = 0;
+                if (xs[i] + zombies.width[i] > width) xs[i] = width - zombies.width[i];
+                if (ys[i] + zombies.height[i] > height) ys[i] = height - zombies.height[i];
             }
 
-            if (!isWalkable(zombie.getX(), zombie.getY())) {
+            if (!isWalkable(xs[i], ys[i])) {
                 // Simple fallback: move zombie one tile toward center
                 float centerX = width / 2f;
                 float centerY = height / 2f;
-                if (zombie.getX() < centerX) zombie.setX(zombie.getX() - tileSize);
-                else zombie.setX(zombie.getX() + tileSize);
-                if (zombie.getY() < centerY) zombie.setY(zombie.getY() - tileSize);
-                else zombie.setY(zombie.getY() + tileSize);
+                if (xs[i] < centerX) xs[i] = xs[i] - tileSize;
+                else xs[i] = xs[i] + tileSize;
+                if (ys[i] < centerY) ys[i] = ys[i] - tileSize;
+                else ys[i] = ys[i] + tileSize;
             }
         }
     }
@@ -126,21 +130,45 @@ public class Environment {
         this.background = background;
     }
 
-    public int[][] getCollisionTiles() {
-        return collisionTiles;
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
+    }
+
+    public void setCollisionGrid(CollisionGrid grid) {
+        this.collisionGrid = grid;
+        for (CollisionListener listener : collisionListeners) {
+            listener.collisionMapReplaced();
+        }
     }
 
+    // Convenience for array-built maps (non-zero = obstacle)
     public void setCollisionTiles(int[][] tiles) {
-        this.collisionTiles = tiles;
+        setCollisionGrid(CollisionGrid.fromArray(tiles));
     }
 
     public void setCollisionTile(int x, int y, int value) {
-        if (y >= 0 && y < collisionTiles.length &&
-            x >= 0 && x < collisionTiles[0].length) {
-            collisionTiles[y][x] = value;
+        if (y >= 0 && y < collisionGrid.getHeight() &&
+            x >= 0 && x < collisionGrid.getWidth()) {
+            collisionGrid.setBlocked(x, y, value != 0);
+            for (CollisionListener listener : collisionListeners) {
+                listener.collisionTileChanged(x, y);
+            }
         }
     }
 
+    // Lets caches built from the collision map (flow fields, paths) detect that it changed
+    public int getCollisionVersion() {
+        return collisionGrid.getVersion();
+    }
+
+    public void addCollisionListener(CollisionListener listener) {
+        collisionListeners.add(listener);
+    }
+
+    public void removeCollisionListener(CollisionListener listener) {
+        collisionListeners.remove(listener);
+    }
+
     public List<Entity> getObjects() {
         return objects;
     }
@@ -167,18 +195,11 @@ public class Environment {
 
     // Ensure the outermost tiles are marked as non-walkable (border)
     public void ensureBorders() {
-        if (collisionTiles == null) return;
-        int rows = collisionTiles.length;
-        if (rows == 0) return;
-        int cols = collisionTiles[0].length;
-
-        for (int x = 0; x < cols; x++) {
-            collisionTiles[0][x] = 1;
-            collisionTiles[rows - 1][x] = 1;
-        }
-        for (int y = 0; y < rows; y++) {
-            collisionTiles[y][0] = 1;
-            collisionTiles[y][cols - 1] = 1;
+        if (collisionGrid == null || collisionGrid.getHeight() == 0) return;
+
+        collisionGrid.blockBorders();
+        for (CollisionListener listener : collisionListeners) {
+            listener.collisionMapReplaced();
         }
     }
 }
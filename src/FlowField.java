@@ -0,0 +1,128 @@
+import java.util.Arrays;
+
+// Dijkstra map toward a single goal tile (the player). Every reachable tile stores the
+// neighbour that is one step closer to the goal, so any number of zombies can read their
+// next step in O(1). The field is only rebuilt when the goal tile or the collision grid changes.
+public class FlowField {
+    // Same neighbour order and costs as AStarSearch
+    private static final int[] DIR_X = { 0, 1, 0, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { 1, 0, -1, 0, 1, -1, 1, -1 };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f; // sqrt(2)
+
+    private float[] distance; // cost to reach the goal, +inf if unreachable
+    private int[] nextStep; // neighbour toward the goal, -1 for the goal or unreachable tiles
+    private IndexedMinHeap openSet;
+    private int mapWidth;
+    private int mapHeight;
+    private int goal;
+    private int gridVersion;
+    private int rebuildCount;
+
+    public FlowField() {
+        this.distance = new float[0];
+        this.nextStep = new int[0];
+        this.openSet = new IndexedMinHeap(1);
+        this.goal = -1;
+        this.gridVersion = -1;
+        this.rebuildCount = 0;
+    }
+
+    // Rebuilds the field if the goal moved to another tile or the collision grid changed
+    public void update(Environment environment, int goalX, int goalY) {
+        CollisionGrid grid = environment.getCollisionGrid();
+        if (grid == null || grid.getHeight() == 0)
+            return;
+
+        int rows = grid.getHeight();
+        int cols = grid.getWidth();
+        goalX = Math.max(0, Math.min(goalX, cols - 1));
+        goalY = Math.max(0, Math.min(goalY, rows - 1));
+        int newGoal = goalY * cols + goalX;
+
+        if (newGoal == goal && cols == mapWidth && rows == mapHeight
+                && environment.getCollisionVersion() == gridVersion) {
+            return;
+        }
+
+        build(grid, newGoal);
+        gridVersion = environment.getCollisionVersion();
+    }
+
+    public void build(CollisionGrid grid, int goal) {
+        mapHeight = grid.getHeight();
+        mapWidth = grid.getWidth();
+        this.goal = goal;
+        rebuildCount++;
+
+        int nodes = mapWidth * mapHeight;
+        if (distance.length < nodes) {
+            distance = new float[nodes];
+            nextStep = new int[nodes];
+            openSet.ensureCapacity(nodes);
+        }
+        Arrays.fill(distance, 0, nodes, Float.POSITIVE_INFINITY);
+        Arrays.fill(nextStep, 0, nodes, -1);
+        openSet.clear();
+
+        // A blocked goal leaves every tile unreachable, like Pathfinder returning no path
+        if (grid.isBlocked(goal % mapWidth, goal / mapWidth))
+            return;
+
+        distance[goal] = 0;
+        openSet.push(goal, 0);
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.pop();
+            int cx = current % mapWidth;
+            int cy = current / mapWidth;
+            float currentDistance = distance[current];
+
+            for (int i = 0; i < DIR_X.length; i++) {
+                int newX = cx + DIR_X[i];
+                int newY = cy + DIR_Y[i];
+                if (newX < 0 || newX >= mapWidth || newY < 0 || newY >= mapHeight)
+                    continue;
+                if (grid.isBlocked(newX, newY))
+                    continue;
+
+                int neighbor = newY * mapWidth + newX;
+                float d = currentDistance + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (d < distance[neighbor]) {
+                    distance[neighbor] = d;
+                    nextStep[neighbor] = current;
+                    openSet.push(neighbor, d);
+                }
+            }
+        }
+    }
+
+    // Tile index one step closer to the goal, the goal itself when standing on it,
+    // or -1 if the tile is outside the field or cannot reach the goal
+    public int getNextStep(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= mapWidth || tileY < 0 || tileY >= mapHeight)
+            return -1;
+        int tile = tileY * mapWidth + tileX;
+        if (tile == goal)
+            return distance[tile] == 0 ? tile : -1;
+        return nextStep[tile];
+    }
+
+    public float getDistance(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= mapWidth || tileY < 0 || tileY >= mapHeight)
+            return Float.POSITIVE_INFINITY;
+        return distance[tileY * mapWidth + tileX];
+    }
+
+    public int getMapWidth() {
+        return mapWidth;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+}
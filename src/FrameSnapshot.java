@@ -0,0 +1,157 @@
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Everything GamePanel draws for one tick, copied out of the simulation at the end of the tick
+// so the Swing thread never reads live game objects. Entities are stored as parallel arrays
+// with their position at the start and end of the tick, for interpolation. Snapshots are
+// reused (see SnapshotBuffer): capture() overwrites one in place and only grows its arrays.
+public class FrameSnapshot {
+    long sequence; // 0 until first captured
+    Game.GameState state;
+    TileMap tileMap;
+
+    // Player
+    float playerPreviousX;
+    float playerPreviousY;
+    float playerX;
+    float playerY;
+    int playerWidth;
+    int playerHeight;
+    BufferedImage playerFrame;
+    boolean playerFacingRight;
+
+    // HUD
+    int hp;
+    int maxHp;
+    int lives;
+    float stamina;
+    float maxStamina;
+    String weaponName; // null without a weapon
+    boolean weaponUsesAmmo;
+    int ammo;
+    int wave;
+    int zombiesRemaining;
+    int zombiesRequired;
+
+    // Zombies
+    int zombieCount;
+    float[] zombiePreviousX = new float[0];
+    float[] zombiePreviousY = new float[0];
+    float[] zombieX = new float[0];
+    float[] zombieY = new float[0];
+    int[] zombieWidth = new int[0];
+    int[] zombieHeight = new int[0];
+    int[] zombieHp = new int[0];
+    int[] zombieMaxHp = new int[0];
+    boolean[] zombieFacingRight = new boolean[0];
+    BufferedImage[] zombieFrame = new BufferedImage[0];
+
+    // Active projectiles
+    int projectileCount;
+    float[] projectilePreviousX = new float[0];
+    float[] projectilePreviousY = new float[0];
+    float[] projectileX = new float[0];
+    float[] projectileY = new float[0];
+    int[] projectileWidth = new int[0];
+    int[] projectileHeight = new int[0];
+
+    // Called on the simulation thread between ticks
+    void capture(Game game, long sequence) {
+        this.sequence = sequence;
+        this.state = game.getGameState();
+        Level level = game.getCurrentLevel();
+        if (level == null) {
+            tileMap = null;
+            zombieCount = 0;
+            projectileCount = 0;
+            return;
+        }
+        tileMap = level.getTileMap();
+        capturePlayer(level.getPlayer());
+        wave = level.getWave();
+        zombiesRemaining = level.getZombiesRemaining();
+        zombiesRequired = level.getZombiesRequired();
+        captureZombies(level.getZombieStore());
+        captureProjectiles(level.getProjectilePool());
+    }
+
+    private void capturePlayer(Player player) {
+        playerPreviousX = player.getPreviousX();
+        playerPreviousY = player.getPreviousY();
+        playerX = player.getX();
+        playerY = player.getY();
+        playerWidth = player.getWidth();
+        playerHeight = player.getHeight();
+        playerFrame = player.getCurrentFrame();
+        playerFacingRight = player.isFacingRight();
+
+        hp = player.getHp();
+        maxHp = player.getMaxHp();
+        lives = player.getLives();
+        stamina = player.getStamina();
+        maxStamina = player.getMaxStamina();
+        Weapon weapon = player.getCurrentWeapon();
+        weaponName = weapon != null ? weapon.getName() : null;
+        weaponUsesAmmo = weapon != null && weapon.getAmmoType() != null;
+        ammo = weaponUsesAmmo ? player.getAmmo().getOrDefault(weapon.getAmmoType(), 0) : 0;
+    }
+
+    private void captureZombies(ZombieStore zombies) {
+        int count = zombies.size();
+        if (zombieX.length < count) {
+            int capacity = Math.max(count, zombieX.length * 2);
+            zombiePreviousX = Arrays.copyOf(zombiePreviousX, capacity);
+            zombiePreviousY = Arrays.copyOf(zombiePreviousY, capacity);
+            zombieX = Arrays.copyOf(zombieX, capacity);
+            zombieY = Arrays.copyOf(zombieY, capacity);
+            zombieWidth = Arrays.copyOf(zombieWidth, capacity);
+            zombieHeight = Arrays.copyOf(zombieHeight, capacity);
+            zombieHp = Arrays.copyOf(zombieHp, capacity);
+            zombieMaxHp = Arrays.copyOf(zombieMaxHp, capacity);
+            zombieFacingRight = Arrays.copyOf(zombieFacingRight, capacity);
+            zombieFrame = Arrays.copyOf(zombieFrame, capacity);
+        }
+        System.arraycopy(zombies.previousX, 0, zombiePreviousX, 0, count);
+        System.arraycopy(zombies.previousY, 0, zombiePreviousY, 0, count);
+        System.arraycopy(zombies.x, 0, zombieX, 0, count);
+        System.arraycopy(zombies.y, 0, zombieY, 0, count);
+        System.arraycopy(zombies.width, 0, zombieWidth, 0, count);
+        System.arraycopy(zombies.height, 0, zombieHeight, 0, count);
+        System.arraycopy(zombies.hp, 0, zombieHp, 0, count);
+        System.arraycopy(zombies.maxHp, 0, zombieMaxHp, 0, count);
+        System.arraycopy(zombies.facingRight, 0, zombieFacingRight, 0, count);
+        for (int i = 0; i < count; i++) {
+            zombieFrame[i] = zombies.get(i).getCurrentFrame();
+        }
+        // Drop frames left over from a larger horde so they can be collected
+        Arrays.fill(zombieFrame, count, Math.max(count, zombieCount), null);
+        zombieCount = count;
+    }
+
+    private void captureProjectiles(ProjectilePool projectiles) {
+        int live = projectiles.getLive();
+        if (projectileX.length < live) {
+            int capacity = Math.max(live, projectileX.length * 2);
+            projectilePreviousX = Arrays.copyOf(projectilePreviousX, capacity);
+            projectilePreviousY = Arrays.copyOf(projectilePreviousY, capacity);
+            projectileX = Arrays.copyOf(projectileX, capacity);
+            projectileY = Arrays.copyOf(projectileY, capacity);
+            projectileWidth = Arrays.copyOf(projectileWidth, capacity);
+            projectileHeight = Arrays.copyOf(projectileHeight, capacity);
+        }
+        int count = 0;
+        for (int i = 0; i < live; i++) {
+            Projectile p = projectiles.get(i);
+            if (!p.isActive())
+                continue;
+            projectilePreviousX[count] = p.getPreviousX();
+            projectilePreviousY[count] = p.getPreviousY();
+            projectileX[count] = p.getX();
+            projectileY[count] = p.getY();
+            projectileWidth[count] = p.getWidth();
+            projectileHeight[count] = p.getHeight();
+            count++;
+        }
+        projectileCount = count;
+    }
+}
@@ -3,16 +3,22 @@ public class Game {
         LOADING, MENU, PLAYING, PAUSED, GAME_OVER, CREDITS
     }
 
+    private static final int DEFAULT_TICK_RATE = 60; // simulation steps per second
+    private static final int DEFAULT_FRAME_RATE = 120; // render cap
+    private static final long MAX_FRAME_NANOS = 250_000_000L; // longer stalls are dropped, not replayed
+
     private int windowWidth;
     private int windowHeight;
     private Level currentLevel;
     private UI ui;
-    private GameState gameState;
+    private volatile GameState gameState; // pause/resume arrive on the Swing thread
     private InputHandler inputHandler;
     private GameWindow gameWindow;
     private boolean running;
-    private float deltaTime;
-    private long lastFrameTime;
+    private int tickRate;
+    private int frameRate;
+    private volatile float interpolation; // read by GamePanel on the Swing thread
+    private final SnapshotBuffer snapshots; // what GamePanel draws, published once per tick
 
     public Game(int windowWidth, int windowHeight) {
         this.windowWidth = windowWidth;
@@ -20,8 +26,10 @@ public class Game {
         this.gameState = GameState.LOADING;
         this.inputHandler = new InputHandler();
         this.running = false;
-        this.deltaTime = 0.016f; // 60 FPS
-        this.lastFrameTime = System.currentTimeMillis();
+        this.tickRate = DEFAULT_TICK_RATE;
+        this.frameRate = DEFAULT_FRAME_RATE;
+        this.interpolation = 1f;
+        this.snapshots = new SnapshotBuffer();
     }
 
     public void init() {
@@ -35,6 +43,10 @@ public class Game {
     }
 
     public void startNewGame() {
+        if (currentLevel != null) {
+            currentLevel.dispose();
+        }
+
         // Create environment
         Environment environment = new Environment(windowWidth, windowHeight, 32);
         // Try to load a tile map from assets/maps/map1.txt. Falls back to simple border
@@ -44,20 +56,10 @@ public class Game {
             tileMap.loadMap("assets/maps/map1.txt");
 
             // Ensure collision grid matches environment dimensions (pad/crop as needed)
-            int[][] envGrid = environment.getCollisionTiles();
-            int envRows = envGrid.length;
-            int envCols = envGrid[0].length;
-            int[][] mapGrid = tileMap.getCollisionGrid();
-            int[][] finalGrid = new int[envRows][envCols];
-            for (int r = 0; r < envRows; r++) {
-                for (int c = 0; c < envCols; c++) {
-                    if (r < mapGrid.length && c < mapGrid[0].length)
-                        finalGrid[r][c] = mapGrid[r][c];
-                    else
-                        finalGrid[r][c] = 0;
-                }
-            }
-            environment.setCollisionTiles(finalGrid);
+            CollisionGrid envGrid = environment.getCollisionGrid();
+            CollisionGrid finalGrid = new CollisionGrid(envGrid.getWidth(), envGrid.getHeight());
+            finalGrid.copyFrom(tileMap.getCollisionGrid());
+            environment.setCollisionGrid(finalGrid);
             // Always enforce map borders so player cannot leave the window
             environment.ensureBorders();
         } catch (Exception e) {
@@ -95,50 +97,44 @@ public class Game {
 
     private void initializeEnvironmentCollisions(Environment environment) {
         // Initialize collision map - simple border walls
-        int[][] collisionTiles = environment.getCollisionTiles();
-        int mapWidth = environment.getWidth() / environment.getTileSize();
-        int mapHeight = environment.getHeight() / environment.getTileSize();
-
-        // Create border walls
-        for (int x = 0; x < mapWidth; x++) {
-            collisionTiles[0][x] = 1; // Top wall
-            collisionTiles[mapHeight - 1][x] = 1; // Bottom wall
-        }
-        for (int y = 0; y < mapHeight; y++) {
-            collisionTiles[y][0] = 1; // Left wall
-            collisionTiles[y][mapWidth - 1] = 1; // Right wall
-        }
-        // Also ensure borders are set (defensive)
         environment.ensureBorders();
     }
 
+    // Fixed-timestep loop: real time accumulates and the simulation always advances in steps of
+    // exactly 1 / tickRate seconds, so it runs the same however fast frames come. Frames are
+    // drawn as often as frameRate allows, interpolating between the last two ticks.
     public void gameLoop() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
         while (running) {
-            updateDeltaTime();
-            update(deltaTime);
+            long frameStart = System.nanoTime();
+            accumulator += Math.min(frameStart - previous, MAX_FRAME_NANOS);
+            previous = frameStart;
+
+            long tickNanos = 1_000_000_000L / tickRate;
+            float dt = 1f / tickRate;
+            while (accumulator >= tickNanos) {
+                update(dt);
+                accumulator -= tickNanos;
+            }
+            // Nothing moves outside PLAYING, so draw entities where they are
+            interpolation = (gameState == GameState.PLAYING) ? accumulator / (float) tickNanos : 1f;
             gameWindow.update();
 
-            try {
-                Thread.sleep(16); // ~60 FPS
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            // Sleep off what is left of this frame
+            long remaining = frameStart + 1_000_000_000L / frameRate - System.nanoTime();
+            if (remaining > 0) {
+                try {
+                    Thread.sleep(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
         }
         System.exit(0);
     }
 
-    private void updateDeltaTime() {
-        long currentTime = System.currentTimeMillis();
-        deltaTime = (currentTime - lastFrameTime) / 1000.0f;
-        lastFrameTime = currentTime;
-
-        // Cap deltaTime to prevent large jumps
-        if (deltaTime > 0.033f) {
-            deltaTime = 0.033f;
-        }
-    }
-
     public void update(float dt) {
         switch (gameState) {
             case LOADING:
@@ -166,6 +162,9 @@ public class Game {
         }
 
         inputHandler.reset();
+
+        // Hand the finished tick to the renderer
+        snapshots.publish(this);
     }
 
     private void updatePlaying(float dt) {
@@ -173,7 +172,7 @@ public class Game {
             Player player = currentLevel.getPlayer();
 
             // Handle input
-            player.handleInput(inputHandler);
+            player.handleInput(inputHandler, dt);
 
             // Update level
             currentLevel.update(dt);
@@ -268,6 +267,10 @@ public class Game {
         this.ui = ui;
     }
 
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
     public GameState getGameState() {
         return gameState;
     }
@@ -276,6 +279,27 @@ public class Game {
         this.gameState = state;
     }
 
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public void setTickRate(int tickRate) {
+        this.tickRate = Math.max(1, tickRate);
+    }
+
+    public int getFrameRate() {
+        return frameRate;
+    }
+
+    public void setFrameRate(int frameRate) {
+        this.frameRate = Math.max(1, frameRate);
+    }
+
+    // How far the current frame is between the previous tick (0) and the latest one (1)
+    public float getInterpolation() {
+        return interpolation;
+    }
+
     public boolean isRunning() {
         return running;
     }
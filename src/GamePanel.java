@@ -36,9 +36,15 @@ public class GamePanel extends JPanel {
     }
 
     private void renderGame(Graphics2D g) {
-        Game.GameState state = game.getGameState();
+        // Everything drawn comes from the latest snapshot the simulation published, never from
+        // the live game objects it is busy updating
+        FrameSnapshot frame = game.getSnapshots().acquire();
+        if (frame == null) {
+            drawLoadingScreen(g);
+            return;
+        }
 
-        switch (state) {
+        switch (frame.state) {
             case LOADING:
                 drawLoadingScreen(g);
                 break;
@@ -46,7 +52,7 @@ public class GamePanel extends JPanel {
                 drawMainMenu(g);
                 break;
             case PLAYING:
-                drawGameplay(g);
+                drawGameplay(g, frame);
                 break;
             case PAUSED:
                 drawPausedScreen(g);
@@ -82,11 +88,7 @@ public class GamePanel extends JPanel {
         // Menu UI removed as requested
     }
 
-    private void drawGameplay(Graphics2D g) {
-        Level level = game.getCurrentLevel();
-        if (level == null)
-            return;
-
+    private void drawGameplay(Graphics2D g, FrameSnapshot frame) {
         // Draw environment background with gradient
         GradientPaint gradient = new GradientPaint(0, 0, new Color(30, 30, 30),
                 0, getHeight(), new Color(50, 50, 50));
@@ -104,38 +106,42 @@ public class GamePanel extends JPanel {
         }
 
         // Draw tile map (if present)
-        TileMap tileMap = null;
-        if (level != null)
-            tileMap = level.getTileMap();
-        if (tileMap != null) {
-            tileMap.render(g, 0, 0);
+        if (frame.tileMap != null) {
+            frame.tileMap.render(g, 0, 0);
         }
 
+        // Entities are drawn between where the last two ticks left them
+        float alpha = game.getInterpolation();
+
         // Draw zombies first (background layer)
-        for (Zombie zombie : level.getZombies()) {
-            drawZombie(g, zombie);
+        for (int i = 0; i < frame.zombieCount; i++) {
+            drawZombie(g, frame, i, alpha);
         }
 
         // Draw projectiles
-        for (Projectile p : level.getProjectiles()) {
-            if (p.isActive()) {
-                p.render(g);
-            }
+        g.setColor(Color.RED);
+        for (int i = 0; i < frame.projectileCount; i++) {
+            int x = (int) lerp(frame.projectilePreviousX[i], frame.projectileX[i], alpha);
+            int y = (int) lerp(frame.projectilePreviousY[i], frame.projectileY[i], alpha);
+            g.fillOval(x, y, frame.projectileWidth[i], frame.projectileHeight[i]);
         }
 
         // Draw player
-        Player player = level.getPlayer();
-        drawPlayer(g, player);
+        drawPlayer(g, frame, alpha);
 
         // Draw HUD
-        drawHUD(g, player, level);
+        drawHUD(g, frame);
+    }
+
+    private static float lerp(float from, float to, float alpha) {
+        return from + (to - from) * alpha;
     }
 
-    private void drawPlayer(Graphics2D g, Player player) {
-        int x = (int) player.getX();
-        int y = (int) player.getY();
-        int width = player.getWidth();
-        int height = player.getHeight();
+    private void drawPlayer(Graphics2D g, FrameSnapshot frame, float alpha) {
+        int x = (int) lerp(frame.playerPreviousX, frame.playerX, alpha);
+        int y = (int) lerp(frame.playerPreviousY, frame.playerY, alpha);
+        int width = frame.playerWidth;
+        int height = frame.playerHeight;
 
         // Render Scale Factor
         float scale = 2.0f;
@@ -145,13 +151,13 @@ public class GamePanel extends JPanel {
         int drawY = y + (height - drawHeight) / 2;
 
         // Draw player
-        java.awt.image.BufferedImage frame = player.getCurrentFrame();
-        if (frame != null) {
-            if (player.isFacingRight()) {
-                g.drawImage(frame, drawX, drawY, drawWidth, drawHeight, null);
+        java.awt.image.BufferedImage image = frame.playerFrame;
+        if (image != null) {
+            if (frame.playerFacingRight) {
+                g.drawImage(image, drawX, drawY, drawWidth, drawHeight, null);
             } else {
                 // Flip horizontally: draw from x+width to x
-                g.drawImage(frame, drawX + drawWidth, drawY, -drawWidth, drawHeight, null);
+                g.drawImage(image, drawX + drawWidth, drawY, -drawWidth, drawHeight, null);
             }
         } else {
             // Draw player body (fallback)
@@ -172,11 +178,11 @@ public class GamePanel extends JPanel {
 
     }
 
-    private void drawZombie(Graphics2D g, Zombie zombie) {
-        int x = (int) zombie.getX();
-        int y = (int) zombie.getY();
-        int width = zombie.getWidth();
-        int height = zombie.getHeight();
+    private void drawZombie(Graphics2D g, FrameSnapshot frame, int i, float alpha) {
+        int x = (int) lerp(frame.zombiePreviousX[i], frame.zombieX[i], alpha);
+        int y = (int) lerp(frame.zombiePreviousY[i], frame.zombieY[i], alpha);
+        int width = frame.zombieWidth[i];
+        int height = frame.zombieHeight[i];
 
         // Render Scale Factor
         float scale = 2.0f; // Make them look larger (64x64 if base is 32x32)
@@ -186,13 +192,13 @@ public class GamePanel extends JPanel {
         int drawY = y + (height - drawHeight) / 2;
 
         // Draw zombie
-        java.awt.image.BufferedImage frame = zombie.getCurrentFrame();
-        if (frame != null) {
-            if (zombie.isFacingRight()) {
-                g.drawImage(frame, drawX, drawY, drawWidth, drawHeight, null);
+        java.awt.image.BufferedImage image = frame.zombieFrame[i];
+        if (image != null) {
+            if (frame.zombieFacingRight[i]) {
+                g.drawImage(image, drawX, drawY, drawWidth, drawHeight, null);
             } else {
                 // Flip horizontally
-                g.drawImage(frame, drawX + drawWidth, drawY, -drawWidth, drawHeight, null);
+                g.drawImage(image, drawX + drawWidth, drawY, -drawWidth, drawHeight, null);
             }
         } else {
             // Draw zombie body (fallback)
@@ -215,13 +221,13 @@ public class GamePanel extends JPanel {
         }
 
         // Draw health bar above zombie - Reverted to logical Y position as requested
-        drawEntityHealthBar(g, zombie, x, y);
+        drawEntityHealthBar(g, width, frame.zombieHp[i], frame.zombieMaxHp[i], x, y);
     }
 
-    private void drawEntityHealthBar(Graphics2D g, Character character, int x, int y) {
+    private void drawEntityHealthBar(Graphics2D g, int entityWidth, int hp, int maxHp, int x, int y) {
         int barWidth = 30;
         int barHeight = 4;
-        int barX = x + (character.getWidth() - barWidth) / 2;
+        int barX = x + (entityWidth - barWidth) / 2;
         int barY = y - 15;
 
         // Draw background
@@ -229,7 +235,7 @@ public class GamePanel extends JPanel {
         g.fillRect(barX, barY, barWidth, barHeight);
 
         // Draw health
-        float healthPercent = (float) character.getHp() / character.getMaxHp();
+        float healthPercent = (float) hp / maxHp;
         g.setColor(healthPercent > 0.5f ? Color.GREEN : (healthPercent > 0.25f ? Color.YELLOW : Color.RED));
         g.fillRect(barX, barY, (int) (barWidth * healthPercent), barHeight);
 
@@ -238,48 +244,46 @@ public class GamePanel extends JPanel {
         g.drawRect(barX, barY, barWidth, barHeight);
     }
 
-    private void drawHUD(Graphics2D g, Player player, Level level) {
+    private void drawHUD(Graphics2D g, FrameSnapshot frame) {
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.PLAIN, 16));
 
         // Draw health
-        String healthText = "Health: " + player.getHp() + "/" + player.getMaxHp();
+        String healthText = "Health: " + frame.hp + "/" + frame.maxHp;
         g.drawString(healthText, 10, 25);
 
         // Draw lives
-        String livesText = "Lives: " + player.getLives();
+        String livesText = "Lives: " + frame.lives;
         g.drawString(livesText, 10, 50);
 
         // Draw current weapon
-        if (player.getCurrentWeapon() != null) {
-            String weaponText = "Weapon: " + player.getCurrentWeapon().getName();
+        if (frame.weaponName != null) {
+            String weaponText = "Weapon: " + frame.weaponName;
             g.drawString(weaponText, 10, 75);
 
             // Draw ammo
-            if (player.getCurrentWeapon().getAmmoType() != null) {
-                String ammoType = player.getCurrentWeapon().getAmmoType();
-                int ammoCount = player.getAmmo().getOrDefault(ammoType, 0);
-                String ammoText = "Ammo: " + ammoCount;
+            if (frame.weaponUsesAmmo) {
+                String ammoText = "Ammo: " + frame.ammo;
                 g.drawString(ammoText, 10, 100);
             }
         }
 
         // Draw wave info
-        String waveText = "Wave: " + level.getWave();
+        String waveText = "Wave: " + frame.wave;
         g.drawString(waveText, getWidth() - 150, 25);
 
         // Draw zombie count
-        String zombieText = "Zombies: " + level.getZombiesRemaining() + "/" + level.getZombiesRequired();
+        String zombieText = "Zombies: " + frame.zombiesRemaining + "/" + frame.zombiesRequired;
         g.drawString(zombieText, getWidth() - 150, 50);
 
         // Draw health bar
-        drawHealthBar(g, player);
+        drawHealthBar(g, frame);
 
         // Draw stamina bar
-        drawStaminaBar(g, player);
+        drawStaminaBar(g, frame);
     }
 
-    private void drawHealthBar(Graphics2D g, Player player) {
+    private void drawHealthBar(Graphics2D g, FrameSnapshot frame) {
         int barWidth = 200;
         int barHeight = 20;
         int x = 10;
@@ -290,7 +294,7 @@ public class GamePanel extends JPanel {
         g.fillRect(x, y, barWidth, barHeight);
 
         // Draw health
-        float healthPercent = (float) player.getHp() / player.getMaxHp();
+        float healthPercent = (float) frame.hp / frame.maxHp;
         g.setColor(healthPercent > 0.5f ? Color.GREEN : (healthPercent > 0.25f ? Color.YELLOW : Color.RED));
         g.fillRect(x, y, (int) (barWidth * healthPercent), barHeight);
 
@@ -299,7 +303,7 @@ public class GamePanel extends JPanel {
         g.drawRect(x, y, barWidth, barHeight);
     }
 
-    private void drawStaminaBar(Graphics2D g, Player player) {
+    private void drawStaminaBar(Graphics2D g, FrameSnapshot frame) {
         int barWidth = 150;
         int barHeight = 10;
         int x = 10;
@@ -310,7 +314,7 @@ public class GamePanel extends JPanel {
         g.fillRect(x, y, barWidth, barHeight);
 
         // Draw stamina
-        float staminaPercent = player.getStamina() / player.getMaxStamina();
+        float staminaPercent = frame.stamina / frame.maxStamina;
         g.setColor(Color.CYAN);
         g.fillRect(x, y, (int) (barWidth * staminaPercent), barHeight);
 
@@ -0,0 +1,28 @@
+// Common shape of the tile-grid searches Pathfinder can run (A*, Jump Point Search).
+// Nodes are flat tile indices (index = y * width + x).
+public interface GridSearch {
+    enum Status {
+        IDLE, RUNNING, FOUND, NO_PATH
+    }
+
+    void begin(int start, int goal, CollisionGrid grid);
+
+    // Expands up to maxExpansions nodes; returns RUNNING if the budget ran out first
+    Status step(int maxExpansions);
+
+    Status run();
+
+    Status getStatus();
+
+    // Nodes taken off the open set during the current search
+    int getExpansions();
+
+    int getGoal();
+
+    // Number of tiles on the found path, start and goal included (0 if none)
+    int getPathLength();
+
+    // Writes every tile of the path start-first into out; returns the full length even if
+    // out is too short (in which case nothing is written)
+    int copyPath(int[] out);
+}
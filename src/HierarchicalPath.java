@@ -0,0 +1,38 @@
+import java.awt.Point;
+import java.util.List;
+
+// Abstract route from HierarchicalPathfinder: the start, the cluster entrances to pass
+// through, and the goal. Tile-level segments between consecutive waypoints are only
+// searched when the walker asks for them.
+public class HierarchicalPath {
+    private final HierarchicalPathfinder owner;
+    private final int[] waypoints; // tile indices, start first
+    private final int mapWidth;
+    private int segment; // index of the waypoint the next segment starts from
+
+    HierarchicalPath(HierarchicalPathfinder owner, int[] waypoints, int mapWidth) {
+        this.owner = owner;
+        this.waypoints = waypoints;
+        this.mapWidth = mapWidth;
+        this.segment = 0;
+    }
+
+    public boolean hasNextSegment() {
+        return segment < waypoints.length - 1;
+    }
+
+    // Refines the next leg into tiles; empty if the map changed so the leg is now blocked
+    public List<Point> nextSegment() {
+        List<Point> path = owner.refine(waypoints[segment], waypoints[segment + 1]);
+        segment++;
+        return path;
+    }
+
+    public int getWaypointCount() {
+        return waypoints.length;
+    }
+
+    public Point getWaypoint(int index) {
+        return new Point(waypoints[index] % mapWidth, waypoints[index] / mapWidth);
+    }
+}
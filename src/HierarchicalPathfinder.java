@@ -0,0 +1,503 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// HPA* over the Environment collision map, for maps far larger than the window.
+// The grid is cut into square clusters. Walkable openings along each shared cluster border
+// become entrances (one transition in the middle of a short opening, one at each end of a
+// long one), and the distances between entrances of the same cluster are precomputed.
+// Tile-level movement lets a diagonal step cut between two blocked corners, so a diagonal
+// step across a border (or through a cluster corner) with no straight crossing beside it is
+// an entrance of its own.
+// A query connects start and goal to their clusters, searches the small abstract graph and
+// returns a HierarchicalPath whose tile-level segments are only computed when walked.
+// Tile edits mark their cluster dirty; only dirty clusters and their neighbours are rebuilt.
+public class HierarchicalPathfinder implements CollisionListener {
+    public static final int DEFAULT_CLUSTER_SIZE = 10;
+    private static final int MAX_SINGLE_ENTRANCE = 6; // longer openings get two transitions
+    private static final int[] DIR_X = { 0, 1, 0, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { 1, 0, -1, 0, 1, -1, 1, -1 };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f; // sqrt(2)
+
+    private final Environment environment;
+    private final int clusterSize;
+    private final Pathfinder refiner;
+
+    private CollisionGrid grid;
+    private int cols;
+    private int rows;
+    private int clustersX;
+    private int clustersY;
+    private int[][] eastEntrances; // per cluster: (own tile, tile across the east border) pairs
+    private int[][] southEntrances; // per cluster: (own tile, tile across the south border) pairs
+    private int[][] clusterNodes; // per cluster: abstract node tiles
+    private int[][][] nodeLinks; // per cluster node: tiles it connects to in other clusters
+    private float[][][] nodeEdges; // per cluster: node-to-node distance inside the cluster
+    private int[] nodeSlot; // tile -> index in its cluster's node list, -1 if not a node
+    private boolean[] dirty;
+    private boolean needsFullRebuild;
+    private int clusterRebuilds;
+
+    // Scratch for searches restricted to one cluster (cluster-local indices)
+    private float[] localDistance;
+    private float[] startDistance;
+    private float[] goalDistance;
+    private IndexedMinHeap localOpenSet;
+
+    // Scratch for the abstract search (tile indices)
+    private float[] gScore;
+    private int[] parent;
+    private int[] seenStamp;
+    private int[] closedStamp;
+    private int generation;
+    private IndexedMinHeap openSet;
+    private int lastExpansions;
+
+    public HierarchicalPathfinder(Environment environment) {
+        this(environment, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HierarchicalPathfinder(Environment environment, int clusterSize) {
+        this.environment = environment;
+        this.clusterSize = clusterSize;
+        this.refiner = new Pathfinder();
+        this.needsFullRebuild = true;
+        int area = clusterSize * clusterSize;
+        this.localDistance = new float[area];
+        this.startDistance = new float[area];
+        this.goalDistance = new float[area];
+        this.localOpenSet = new IndexedMinHeap(area);
+        this.openSet = new IndexedMinHeap(1);
+    }
+
+    @Override
+    public void collisionTileChanged(int tileX, int tileY) {
+        if (dirty == null || tileX < 0 || tileY < 0 || tileX >= cols || tileY >= rows)
+            return;
+        dirty[clusterOf(tileX, tileY)] = true;
+    }
+
+    @Override
+    public void collisionMapReplaced() {
+        needsFullRebuild = true;
+    }
+
+    // Plans an abstract route; returns null if start or goal is blocked or unreachable
+    public HierarchicalPath findPath(Point start, Point goal) {
+        refresh();
+        if (grid == null || start == null || goal == null)
+            return null;
+
+        int startX = Math.max(0, Math.min(start.x, cols - 1));
+        int startY = Math.max(0, Math.min(start.y, rows - 1));
+        int goalX = Math.max(0, Math.min(goal.x, cols - 1));
+        int goalY = Math.max(0, Math.min(goal.y, rows - 1));
+        if (grid.isBlocked(startX, startY) || grid.isBlocked(goalX, goalY))
+            return null;
+
+        int startTile = startY * cols + startX;
+        int goalTile = goalY * cols + goalX;
+        int startCluster = clusterOf(startX, startY);
+        int goalCluster = clusterOf(goalX, goalY);
+
+        // Connect start and goal to the entrances of their own clusters
+        clusterDistances(startTile, startCluster, startDistance);
+        clusterDistances(goalTile, goalCluster, goalDistance);
+
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        openSet.clear();
+        lastExpansions = 0;
+
+        gScore[startTile] = 0;
+        parent[startTile] = -1;
+        seenStamp[startTile] = generation;
+        openSet.push(startTile, octile(startTile, goalTile));
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.pop();
+            if (current == goalTile) {
+                return new HierarchicalPath(this, buildWaypoints(goalTile), cols);
+            }
+            closedStamp[current] = generation;
+            lastExpansions++;
+
+            int cluster = clusterOf(current % cols, current / cols);
+            int slot = nodeSlot[current];
+            int[] nodes = clusterNodes[cluster];
+
+            if (current == startTile) {
+                for (int j = 0; j < nodes.length; j++) {
+                    relax(current, nodes[j], startDistance[localIndex(nodes[j], cluster)], goalTile);
+                }
+                if (startCluster == goalCluster) {
+                    relax(current, goalTile, startDistance[localIndex(goalTile, cluster)], goalTile);
+                }
+            } else if (slot >= 0) {
+                float[] edges = nodeEdges[cluster][slot];
+                for (int j = 0; j < nodes.length; j++) {
+                    relax(current, nodes[j], edges[j], goalTile);
+                }
+            }
+
+            if (slot >= 0) {
+                for (int partner : nodeLinks[cluster][slot]) {
+                    relax(current, partner, octile(current, partner), goalTile);
+                }
+            }
+
+            if (current != startTile && cluster == goalCluster) {
+                relax(current, goalTile, goalDistance[localIndex(current, cluster)], goalTile);
+            }
+        }
+        return null;
+    }
+
+    // Tile-level path between two consecutive abstract waypoints
+    List<Point> refine(int fromTile, int toTile) {
+        return refiner.findPath(new Point(fromTile % cols, fromTile / cols),
+                new Point(toTile % cols, toTile / cols), environment.getCollisionGrid());
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public int getNodeCount() {
+        refresh();
+        int count = 0;
+        if (clusterNodes != null) {
+            for (int[] nodes : clusterNodes) {
+                count += nodes.length;
+            }
+        }
+        return count;
+    }
+
+    // Abstract nodes expanded by the most recent findPath
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    public int getClusterRebuilds() {
+        return clusterRebuilds;
+    }
+
+    private void relax(int from, int to, float cost, int goalTile) {
+        if (cost == Float.POSITIVE_INFINITY || closedStamp[to] == generation)
+            return;
+        float g = gScore[from] + cost;
+        if (seenStamp[to] != generation) {
+            seenStamp[to] = generation;
+        } else if (g >= gScore[to]) {
+            return;
+        }
+        gScore[to] = g;
+        parent[to] = from;
+        openSet.push(to, g + octile(to, goalTile));
+    }
+
+    private int[] buildWaypoints(int goalTile) {
+        int count = 0;
+        for (int node = goalTile; node != -1; node = parent[node]) {
+            count++;
+        }
+        int[] waypoints = new int[count];
+        for (int node = goalTile; node != -1; node = parent[node]) {
+            waypoints[--count] = node;
+        }
+        return waypoints;
+    }
+
+    // Brings the abstract graph up to date with the collision map
+    private void refresh() {
+        CollisionGrid current = environment.getCollisionGrid();
+        if (current == null || current.getHeight() == 0) {
+            grid = null;
+            return;
+        }
+        if (needsFullRebuild || current != grid
+                || current.getHeight() != rows || current.getWidth() != cols) {
+            initialize(current);
+        }
+
+        boolean[] rebuildNodes = null;
+        for (int c = 0; c < dirty.length; c++) {
+            if (!dirty[c])
+                continue;
+            if (rebuildNodes == null)
+                rebuildNodes = new boolean[dirty.length];
+
+            // A dirty cluster can change all four of its borders and, through diagonal
+            // crossings, its corners, which also changes the entrances of the neighbours on the
+            // other side
+            int cx = c % clustersX;
+            int cy = c / clustersX;
+            for (int ny = Math.max(0, cy - 1); ny <= Math.min(clustersY - 1, cy + 1); ny++) {
+                for (int nx = Math.max(0, cx - 1); nx <= Math.min(clustersX - 1, cx + 1); nx++) {
+                    int neighbour = ny * clustersX + nx;
+                    computeEastEntrances(neighbour);
+                    computeSouthEntrances(neighbour);
+                    rebuildNodes[neighbour] = true;
+                }
+            }
+            dirty[c] = false;
+        }
+
+        if (rebuildNodes != null) {
+            for (int c = 0; c < rebuildNodes.length; c++) {
+                if (rebuildNodes[c])
+                    rebuildCluster(c);
+            }
+        }
+    }
+
+    private void initialize(CollisionGrid current) {
+        grid = current;
+        rows = current.getHeight();
+        cols = current.getWidth();
+        clustersX = (cols + clusterSize - 1) / clusterSize;
+        clustersY = (rows + clusterSize - 1) / clusterSize;
+        int clusterCount = clustersX * clustersY;
+
+        eastEntrances = new int[clusterCount][0];
+        southEntrances = new int[clusterCount][0];
+        clusterNodes = new int[clusterCount][0];
+        nodeLinks = new int[clusterCount][0][];
+        nodeEdges = new float[clusterCount][0][];
+        dirty = new boolean[clusterCount];
+        Arrays.fill(dirty, true);
+
+        int tiles = rows * cols;
+        nodeSlot = new int[tiles];
+        Arrays.fill(nodeSlot, -1);
+        gScore = new float[tiles];
+        parent = new int[tiles];
+        seenStamp = new int[tiles];
+        closedStamp = new int[tiles];
+        generation = 0;
+        openSet.ensureCapacity(tiles);
+        needsFullRebuild = false;
+    }
+
+    private void computeEastEntrances(int c) {
+        int cx = c % clustersX;
+        int cy = c / clustersX;
+        if (cx == clustersX - 1) {
+            eastEntrances[c] = new int[0];
+            return;
+        }
+        int x = (cx + 1) * clusterSize - 1;
+        int y0 = cy * clusterSize;
+        int y1 = Math.min(y0 + clusterSize, rows);
+
+        List<Integer> pairs = new ArrayList<>();
+        int runStart = -1;
+        for (int y = y0; y <= y1; y++) {
+            boolean open = y < y1 && grid.isWalkable(x, y) && grid.isWalkable(x + 1, y);
+            if (open && runStart < 0) {
+                runStart = y;
+            } else if (!open && runStart >= 0) {
+                for (int ey : entrancePositions(runStart, y - 1)) {
+                    pairs.add(ey * cols + x);
+                    pairs.add(ey * cols + x + 1);
+                }
+                runStart = -1;
+            }
+        }
+
+        // Diagonal-only crossings, including those into the clusters above and below the
+        // east neighbour
+        for (int y = y0; y < y1; y++) {
+            if (grid.isBlocked(x, y))
+                continue;
+            for (int dy = -1; dy <= 1; dy += 2) {
+                if (isDiagonalOnly(x, y, 1, dy)) {
+                    pairs.add(y * cols + x);
+                    pairs.add((y + dy) * cols + x + 1);
+                }
+            }
+        }
+        eastEntrances[c] = toArray(pairs);
+    }
+
+    private void computeSouthEntrances(int c) {
+        int cx = c % clustersX;
+        int cy = c / clustersX;
+        if (cy == clustersY - 1) {
+            southEntrances[c] = new int[0];
+            return;
+        }
+        int y = (cy + 1) * clusterSize - 1;
+        int x0 = cx * clusterSize;
+        int x1 = Math.min(x0 + clusterSize, cols);
+
+        List<Integer> pairs = new ArrayList<>();
+        int runStart = -1;
+        for (int x = x0; x <= x1; x++) {
+            boolean open = x < x1 && grid.isWalkable(x, y) && grid.isWalkable(x, y + 1);
+            if (open && runStart < 0) {
+                runStart = x;
+            } else if (!open && runStart >= 0) {
+                for (int ex : entrancePositions(runStart, x - 1)) {
+                    pairs.add(y * cols + ex);
+                    pairs.add((y + 1) * cols + ex);
+                }
+                runStart = -1;
+            }
+        }
+
+        // Diagonal-only crossings that stay in this cluster column; those through a corner
+        // are found along the east borders
+        for (int x = x0; x < x1; x++) {
+            if (grid.isBlocked(x, y))
+                continue;
+            for (int dx = -1; dx <= 1; dx += 2) {
+                if (x + dx >= x0 && x + dx < x1 && isDiagonalOnly(x, y, dx, 1)) {
+                    pairs.add(y * cols + x);
+                    pairs.add((y + 1) * cols + x + dx);
+                }
+            }
+        }
+        southEntrances[c] = toArray(pairs);
+    }
+
+    // True if the diagonal step from the walkable tile (x, y) lands on a walkable tile while
+    // both tiles beside it are blocked, so no pair of straight steps makes the same crossing
+    private boolean isDiagonalOnly(int x, int y, int dx, int dy) {
+        int toX = x + dx;
+        int toY = y + dy;
+        if (toX < 0 || toY < 0 || toX >= cols || toY >= rows)
+            return false;
+        return grid.isWalkable(toX, toY) && grid.isBlocked(toX, y) && grid.isBlocked(x, toY);
+    }
+
+    private int[] entrancePositions(int first, int last) {
+        if (last - first + 1 < MAX_SINGLE_ENTRANCE) {
+            return new int[] { (first + last) / 2 };
+        }
+        return new int[] { first, last };
+    }
+
+    // Collects the cluster's entrance tiles from its four borders and recomputes the
+    // distances between them inside the cluster
+    private void rebuildCluster(int c) {
+        for (int tile : clusterNodes[c]) {
+            nodeSlot[tile] = -1;
+        }
+
+        // Crossings into this cluster can be recorded by any of the clusters around it
+        int cx = c % clustersX;
+        int cy = c / clustersX;
+        Map<Integer, List<Integer>> links = new LinkedHashMap<>();
+        for (int ny = Math.max(0, cy - 1); ny <= Math.min(clustersY - 1, cy + 1); ny++) {
+            for (int nx = Math.max(0, cx - 1); nx <= Math.min(clustersX - 1, cx + 1); nx++) {
+                int neighbour = ny * clustersX + nx;
+                addLinks(links, eastEntrances[neighbour], c);
+                addLinks(links, southEntrances[neighbour], c);
+            }
+        }
+
+        int[] nodes = new int[links.size()];
+        int[][] nodeLinksForCluster = new int[nodes.length][];
+        int k = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : links.entrySet()) {
+            nodes[k] = entry.getKey();
+            nodeLinksForCluster[k] = toArray(entry.getValue());
+            nodeSlot[nodes[k]] = k;
+            k++;
+        }
+
+        float[][] edges = new float[nodes.length][nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            clusterDistances(nodes[i], c, localDistance);
+            for (int j = 0; j < nodes.length; j++) {
+                edges[i][j] = (i == j) ? Float.POSITIVE_INFINITY : localDistance[localIndex(nodes[j], c)];
+            }
+        }
+
+        clusterNodes[c] = nodes;
+        nodeLinks[c] = nodeLinksForCluster;
+        nodeEdges[c] = edges;
+        clusterRebuilds++;
+    }
+
+    // Adds the pairs with one tile in cluster c, keyed by that tile
+    private void addLinks(Map<Integer, List<Integer>> links, int[] pairs, int c) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            for (int side = 0; side < 2; side++) {
+                int own = pairs[i + side];
+                if (clusterOf(own % cols, own / cols) == c) {
+                    links.computeIfAbsent(own, key -> new ArrayList<>()).add(pairs[i + 1 - side]);
+                }
+            }
+        }
+    }
+
+    // Dijkstra from source restricted to the cluster's rectangle
+    private void clusterDistances(int source, int c, float[] out) {
+        int x0 = (c % clustersX) * clusterSize;
+        int y0 = (c / clustersX) * clusterSize;
+        int width = Math.min(x0 + clusterSize, cols) - x0;
+        int height = Math.min(y0 + clusterSize, rows) - y0;
+
+        Arrays.fill(out, Float.POSITIVE_INFINITY);
+        localOpenSet.clear();
+        int sourceLocal = localIndex(source, c);
+        out[sourceLocal] = 0;
+        localOpenSet.push(sourceLocal, 0);
+
+        while (!localOpenSet.isEmpty()) {
+            int current = localOpenSet.pop();
+            int lx = current % clusterSize;
+            int ly = current / clusterSize;
+            for (int i = 0; i < DIR_X.length; i++) {
+                int nx = lx + DIR_X[i];
+                int ny = ly + DIR_Y[i];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height)
+                    continue;
+                if (grid.isBlocked(x0 + nx, y0 + ny))
+                    continue;
+                int neighbor = ny * clusterSize + nx;
+                float d = out[current] + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (d < out[neighbor]) {
+                    out[neighbor] = d;
+                    localOpenSet.push(neighbor, d);
+                }
+            }
+        }
+    }
+
+    private int clusterOf(int tileX, int tileY) {
+        return (tileY / clusterSize) * clustersX + (tileX / clusterSize);
+    }
+
+    private int localIndex(int tile, int c) {
+        int lx = tile % cols - (c % clustersX) * clusterSize;
+        int ly = tile / cols - (c / clustersX) * clusterSize;
+        return ly * clusterSize + lx;
+    }
+
+    private float octile(int a, int b) {
+        int dx = Math.abs(a % cols - b % cols);
+        int dy = Math.abs(a / cols - b / cols);
+        int diagonal = Math.min(dx, dy);
+        return diagonal * DIAGONAL_COST + (Math.max(dx, dy) - diagonal) * STRAIGHT_COST;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
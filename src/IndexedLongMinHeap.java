@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+// IndexedMinHeap with exact long keys, for searches whose keys are integer sums that must
+// compare equal when they are equal (D* Lite's [k1, k2]). A float key only holds integers
+// exactly up to 2^24, which large maps and a long-lived planner's key modifier pass.
+public class IndexedLongMinHeap {
+    private int[] heap; // heap slot -> id
+    private int[] position; // id -> heap slot (-1 if not in the heap)
+    private long[] keys; // id -> key
+    private long[] tieKeys; // id -> secondary key, compared only when keys are equal
+    private int size;
+
+    public IndexedLongMinHeap(int capacity) {
+        this.heap = new int[Math.max(1, capacity)];
+        this.position = new int[Math.max(1, capacity)];
+        this.keys = new long[Math.max(1, capacity)];
+        this.tieKeys = new long[Math.max(1, capacity)];
+        Arrays.fill(position, -1);
+        this.size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= position.length)
+            return;
+        int oldLength = position.length;
+        heap = Arrays.copyOf(heap, capacity);
+        position = Arrays.copyOf(position, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        tieKeys = Arrays.copyOf(tieKeys, capacity);
+        Arrays.fill(position, oldLength, capacity, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    public long peekTieKey() {
+        return tieKeys[heap[0]];
+    }
+
+    // Inserts the id, or moves it to its new key if it is already queued
+    public void push(int id, long key, long tieKey) {
+        int slot = position[id];
+        keys[id] = key;
+        tieKeys[id] = tieKey;
+        if (slot < 0) {
+            heap[size] = id;
+            position[id] = size;
+            siftUp(size++);
+        } else {
+            siftUp(slot);
+            siftDown(position[id]);
+        }
+    }
+
+    public int pop() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    public void remove(int id) {
+        int slot = position[id];
+        if (slot >= 0) {
+            removeAt(slot);
+        }
+    }
+
+    // Only touches the ids still queued, so clearing is O(size) rather than O(capacity)
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int slot) {
+        int id = heap[slot];
+        position[id] = -1;
+        size--;
+        if (slot == size)
+            return;
+
+        int last = heap[size];
+        heap[slot] = last;
+        position[last] = slot;
+        siftDown(slot);
+        if (heap[slot] == last) {
+            siftUp(slot);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && tieKeys[a] < tieKeys[b]);
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >> 1;
+            int parent = heap[parentSlot];
+            if (!less(id, parent))
+                break;
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        int half = size >> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], id))
+                break;
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.Arrays;
+
+// Jump Point Search for the uniform-cost 8-connected collision grid.
+// Straight and diagonal runs with no forced neighbours are skipped in one jump, so only
+// the jump points at corners and openings are put on the open set. Movement rules match
+// AStarSearch (a diagonal step only needs its target tile free), and the octile heuristic
+// keeps the result optimal. copyPath fills in every tile between jump points.
+public class JumpPointSearch implements GridSearch {
+    private static final int[] DIR_X = { 0, 1, 0, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { 1, 0, -1, 0, 1, -1, 1, -1 };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f; // sqrt(2)
+
+    private float[] gScore;
+    private int[] parent; // previous jump point
+    private int[] seenStamp;
+    private int[] closedStamp;
+    private int generation;
+    private IndexedMinHeap openSet;
+
+    private CollisionGrid grid;
+    private int mapWidth;
+    private int mapHeight;
+    private int goal;
+    private int goalX;
+    private int goalY;
+    private Status status;
+    private int expansions;
+
+    public JumpPointSearch() {
+        this.gScore = new float[0];
+        this.parent = new int[0];
+        this.seenStamp = new int[0];
+        this.closedStamp = new int[0];
+        this.openSet = new IndexedMinHeap(1);
+        this.status = Status.IDLE;
+    }
+
+    @Override
+    public void begin(int start, int goal, CollisionGrid grid) {
+        this.grid = grid;
+        this.mapHeight = grid.getHeight();
+        this.mapWidth = grid.getWidth();
+        this.goal = goal;
+        this.goalX = goal % mapWidth;
+        this.goalY = goal / mapWidth;
+        this.expansions = 0;
+
+        int nodes = mapWidth * mapHeight;
+        if (gScore.length < nodes) {
+            gScore = new float[nodes];
+            parent = new int[nodes];
+            seenStamp = new int[nodes];
+            closedStamp = new int[nodes];
+            generation = 0;
+            openSet.ensureCapacity(nodes);
+        }
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        openSet.clear();
+
+        gScore[start] = 0;
+        parent[start] = -1;
+        seenStamp[start] = generation;
+        openSet.push(start, octile(start % mapWidth, start / mapWidth, goalX, goalY));
+        status = Status.RUNNING;
+    }
+
+    @Override
+    public Status step(int maxExpansions) {
+        if (status != Status.RUNNING)
+            return status;
+
+        int budget = maxExpansions;
+        while (!openSet.isEmpty()) {
+            if (budget-- <= 0)
+                return status;
+
+            int current = openSet.pop();
+            if (current == goal) {
+                status = Status.FOUND;
+                return status;
+            }
+
+            closedStamp[current] = generation;
+            expansions++;
+
+            int cx = current % mapWidth;
+            int cy = current / mapWidth;
+            int from = parent[current];
+            if (from < 0) {
+                // Start node: every direction is a candidate
+                for (int i = 0; i < DIR_X.length; i++) {
+                    jumpAndRelax(current, cx, cy, DIR_X[i], DIR_Y[i]);
+                }
+                continue;
+            }
+
+            int dx = Integer.signum(cx - from % mapWidth);
+            int dy = Integer.signum(cy - from / mapWidth);
+            if (dx != 0 && dy != 0) {
+                // Diagonal: keep going the same way plus both straight components,
+                // and turn back around any corner we just cut past
+                jumpAndRelax(current, cx, cy, dx, 0);
+                jumpAndRelax(current, cx, cy, 0, dy);
+                jumpAndRelax(current, cx, cy, dx, dy);
+                if (!isWalkable(cx - dx, cy))
+                    jumpAndRelax(current, cx, cy, -dx, dy);
+                if (!isWalkable(cx, cy - dy))
+                    jumpAndRelax(current, cx, cy, dx, -dy);
+            } else if (dx != 0) {
+                jumpAndRelax(current, cx, cy, dx, 0);
+                if (!isWalkable(cx, cy + 1))
+                    jumpAndRelax(current, cx, cy, dx, 1);
+                if (!isWalkable(cx, cy - 1))
+                    jumpAndRelax(current, cx, cy, dx, -1);
+            } else {
+                jumpAndRelax(current, cx, cy, 0, dy);
+                if (!isWalkable(cx + 1, cy))
+                    jumpAndRelax(current, cx, cy, 1, dy);
+                if (!isWalkable(cx - 1, cy))
+                    jumpAndRelax(current, cx, cy, -1, dy);
+            }
+        }
+
+        status = Status.NO_PATH;
+        return status;
+    }
+
+    @Override
+    public Status run() {
+        return step(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public int getExpansions() {
+        return expansions;
+    }
+
+    @Override
+    public int getGoal() {
+        return goal;
+    }
+
+    public float getPathCost() {
+        return status == Status.FOUND ? gScore[goal] : Float.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int getPathLength() {
+        if (status != Status.FOUND)
+            return 0;
+        int length = 1;
+        for (int node = goal; parent[node] != -1; node = parent[node]) {
+            length += segmentSteps(parent[node], node);
+        }
+        return length;
+    }
+
+    @Override
+    public int copyPath(int[] out) {
+        int length = getPathLength();
+        if (length == 0 || out.length < length)
+            return length;
+
+        // Walk the jump points backwards, filling in the straight/diagonal runs between them
+        int i = length - 1;
+        out[i] = goal;
+        for (int node = goal; parent[node] != -1; node = parent[node]) {
+            int prev = parent[node];
+            int stepX = Integer.signum(prev % mapWidth - node % mapWidth);
+            int stepY = Integer.signum(prev / mapWidth - node / mapWidth);
+            int x = node % mapWidth;
+            int y = node / mapWidth;
+            int steps = segmentSteps(prev, node);
+            for (int s = 0; s < steps; s++) {
+                x += stepX;
+                y += stepY;
+                out[--i] = y * mapWidth + x;
+            }
+        }
+        return length;
+    }
+
+    private void jumpAndRelax(int current, int cx, int cy, int dx, int dy) {
+        int jumpPoint = jump(cx, cy, dx, dy);
+        if (jumpPoint < 0 || closedStamp[jumpPoint] == generation)
+            return;
+
+        int jx = jumpPoint % mapWidth;
+        int jy = jumpPoint / mapWidth;
+        float g = gScore[current] + octile(cx, cy, jx, jy);
+        if (seenStamp[jumpPoint] != generation) {
+            seenStamp[jumpPoint] = generation;
+        } else if (g >= gScore[jumpPoint]) {
+            return;
+        }
+
+        gScore[jumpPoint] = g;
+        parent[jumpPoint] = current;
+        openSet.push(jumpPoint, g + octile(jx, jy, goalX, goalY));
+    }
+
+    // Steps from (x, y) in direction (dx, dy) until reaching the goal, a tile with a forced
+    // neighbour, or (for diagonals) a tile from which a straight jump finds one.
+    // Returns -1 if the run hits a wall or the map edge first.
+    private int jump(int x, int y, int dx, int dy) {
+        while (true) {
+            x += dx;
+            y += dy;
+            if (!isWalkable(x, y))
+                return -1;
+
+            int index = y * mapWidth + x;
+            if (index == goal)
+                return index;
+
+            if (dx != 0 && dy != 0) {
+                if ((isWalkable(x - dx, y + dy) && !isWalkable(x - dx, y))
+                        || (isWalkable(x + dx, y - dy) && !isWalkable(x, y - dy))) {
+                    return index;
+                }
+                if (jump(x, y, dx, 0) >= 0 || jump(x, y, 0, dy) >= 0) {
+                    return index;
+                }
+            } else if (dx != 0) {
+                if ((isWalkable(x + dx, y + 1) && !isWalkable(x, y + 1))
+                        || (isWalkable(x + dx, y - 1) && !isWalkable(x, y - 1))) {
+                    return index;
+                }
+            } else {
+                if ((isWalkable(x + 1, y + dy) && !isWalkable(x + 1, y))
+                        || (isWalkable(x - 1, y + dy) && !isWalkable(x - 1, y))) {
+                    return index;
+                }
+            }
+        }
+    }
+
+    private boolean isWalkable(int x, int y) {
+        return grid.isWalkable(x, y); // out-of-grid tiles count as blocked
+    }
+
+    private int segmentSteps(int a, int b) {
+        return Math.max(Math.abs(a % mapWidth - b % mapWidth), Math.abs(a / mapWidth - b / mapWidth));
+    }
+
+    private static float octile(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int diagonal = Math.min(dx, dy);
+        return diagonal * DIAGONAL_COST + (Math.max(dx, dy) - diagonal) * STRAIGHT_COST;
+    }
+}
@@ -2,12 +2,44 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Level {
+    public enum PathingMode {
+        FLOW_FIELD, // one shared Dijkstra map toward the player
+        PER_ZOMBIE, // every zombie runs its own Pathfinder search
+        ASYNC, // per-zombie searches solved on worker threads, applied on a later tick
+        INCREMENTAL, // every zombie keeps a D* Lite planner that repairs its path as tiles change
+        TIME_SLICED // per-zombie searches spread over frames under a per-frame expansion budget
+    }
+
+    public enum Broadphase {
+        SPATIAL_HASH, // uniform 64 px cells, rebuilt every tick
+        LOOSE_QUADTREE // updated in place; suits mixed sizes (the Boss) and very large maps
+    }
+
+    // Maps with more tiles than this plan per-zombie paths hierarchically (HPA*)
+    private static final int HIERARCHICAL_MIN_TILES = 64 * 64;
+
     private int id;
     private Environment environment;
     private TileMap tileMap;
     private Player player;
-    private List<Zombie> zombies;
+    private ZombieStore zombies;
+    private ZombiePool zombiePool;
+    private EntityCommandBuffer commands;
+    private boolean updating; // inside update(): spawns and despawns are deferred to its end
     private Pathfinder pathfinder;
+    private PathCache pathCache;
+    private HierarchicalPathfinder hierarchicalPathfinder;
+    private ClearanceMap clearanceMap;
+    private PathRequestService pathRequestService;
+    private PathScheduler pathScheduler;
+    private FlowField flowField;
+    private CrowdSteering crowdSteering;
+    private ZombieAiPhase aiPhase;
+    private SpatialIndex<Zombie> zombieIndex;
+    private Broadphase broadphase;
+    private List<Zombie> nearbyZombies;
+    private PathingMode pathingMode;
+    private boolean anyAnglePaths;
     private float zombieSpawnTimer;
     private float zombieSpawnInterval;
     private int zombiesSpawned;
@@ -19,14 +51,26 @@ public class Level {
         this.id = id;
         this.environment = environment;
         this.player = player;
-        this.zombies = new ArrayList<>();
+        this.zombies = new ZombieStore(64);
+        this.zombiePool = new ZombiePool();
+        this.commands = new EntityCommandBuffer();
         this.pathfinder = new Pathfinder();
+        this.pathCache = new PathCache(pathfinder);
+        this.flowField = new FlowField();
+        this.broadphase = Broadphase.SPATIAL_HASH;
+        this.zombieIndex = new SpatialHash<>();
+        this.crowdSteering = new CrowdSteering();
+        this.aiPhase = new ZombieAiPhase();
+        this.nearbyZombies = new ArrayList<>();
+        this.pathingMode = PathingMode.FLOW_FIELD;
+        setAnyAnglePaths(true);
         this.zombieSpawnTimer = 0;
         this.zombieSpawnInterval = 2.0f; // Spawn zombie every 2 seconds
         this.zombiesSpawned = 0;
         this.zombiesRequired = 10; // Zombies to defeat per wave
         this.levelComplete = false;
         this.wave = 1;
+        prewarmZombies();
     }
 
     public TileMap getTileMap() {
@@ -41,6 +85,39 @@ public class Level {
         if (levelComplete)
             return;
 
+        updating = true;
+        try {
+            tick(dt);
+        } finally {
+            updating = false;
+        }
+
+        // Sync point: apply the spawns and despawns recorded during the tick
+        applyCommands();
+
+        // Check level completion
+        if (zombiesSpawned >= zombiesRequired && zombies.size() == 0) {
+            completeLevel();
+        }
+
+        // Check if player is dead
+        if (player.isDead()) {
+            if (player.getLives() <= 0) {
+                gameOver();
+            }
+        }
+    }
+
+    private void tick(float dt) {
+        // Positions at the start of the tick, for render interpolation
+        player.savePreviousPosition();
+        zombies.savePositions();
+
+        // Hand out paths the workers finished since the last tick
+        if (pathRequestService != null) {
+            pathRequestService.deliverResults();
+        }
+
         // Update environment
         environment.update(dt);
 
@@ -50,31 +127,49 @@ public class Level {
         // Update player (boundary checking happens inside player.update())
         player.update(dt);
 
-        // Update zombies
-        for (int i = 0; i < zombies.size(); i++) {
-            Zombie zombie = zombies.get(i);
+        // Refresh the shared flow field (no-op unless the player changed tile or the map changed)
+        if (pathingMode == PathingMode.FLOW_FIELD) {
+            int tileSize = environment.getTileSize();
+            flowField.update(environment, (int) (player.getX() / tileSize), (int) (player.getY() / tileSize));
+        }
 
-            // Update AI only if alive
-            if (zombie.isAlive()) {
-                zombie.updateAI(player, environment, dt);
-            }
+        // Update zombie AI (only if alive); each picks the velocity it wants this tick. Paths
+        // are planned one by one, steering runs in parallel, and attacks on the player land
+        // afterwards in slot order (see ZombieAiPhase)
+        aiPhase.run(zombies, player, environment, dt);
 
-            // Always update to let animations progress (even if dead)
-            zombie.update(dt);
+        // Spread out zombies that crowd onto each other; nobody has moved since the index was
+        // built at the end of the last tick, so it still matches their positions
+        crowdSteering.apply(zombies.asList(), zombieIndex, environment, dt);
 
-            // Remove ONLY if truly dead and animation is done
-            if (!zombie.isAlive() && zombie.isDeathAnimationFinished()) {
-                zombies.remove(i);
-                i--;
+        // Move zombies in one pass over the store, then let animations progress (even if dead)
+        zombies.integrate(dt);
+        for (int i = 0; i < zombies.size(); i++) {
+            zombies.get(i).animate(dt);
+        }
+
+        // Remove ONLY if truly dead and animation is done, handing the zombie back to the pool
+        // for the next spawn (at the end of the tick)
+        for (int i = 0; i < zombies.size(); i++) {
+            if (!zombies.alive[i] && zombies.get(i).isDeathAnimationFinished()) {
+                commands.record(EntityCommandBuffer.DESPAWN_ZOMBIE, zombies.get(i));
             }
         }
 
+        // Spend this frame's pathfinding budget on the requests zombies just made
+        if (pathScheduler != null) {
+            pathScheduler.update(environment);
+        }
+
         // Check collisions
         environment.checkCollisions(player, zombies);
 
-        // Update and check projectiles
+        // Index zombies where they ended up this tick; projectiles, melee and anything else
+        // looking for nearby zombies query this instead of scanning the list
+        zombieIndex.refresh(zombies.asList());
+
+        // Move projectiles and resolve what they hit on the way
         updateProjectiles(dt);
-        checkProjectileCollisions();
 
         // Spawn zombies
         zombieSpawnTimer -= dt;
@@ -82,27 +177,76 @@ public class Level {
             spawnZombie();
             zombieSpawnTimer = zombieSpawnInterval;
         }
+    }
 
-        // Check level completion
-        if (zombiesSpawned >= zombiesRequired && zombies.isEmpty()) {
-            completeLevel();
+    // Plays back the command buffer in recorded order. Zombie changes are swap-removes and
+    // appends on the store; dead projectiles are compacted out of the pool in one pass.
+    private void applyCommands() {
+        if (commands.size() == 0)
+            return;
+        boolean zombiesChanged = false;
+        boolean projectilesDestroyed = false;
+        for (int i = 0; i < commands.size(); i++) {
+            switch (commands.op(i)) {
+                case EntityCommandBuffer.ADD_ZOMBIE:
+                    Zombie added = (Zombie) commands.entity(i);
+                    added.setLevel(this);
+                    zombies.adopt(added);
+                    zombiesChanged = true;
+                    break;
+                case EntityCommandBuffer.SPAWN_ZOMBIE:
+                    Zombie spawned = zombiePool.acquire(commands.arg(i, 0), commands.arg(i, 1),
+                            (int) commands.arg(i, 2), (int) commands.arg(i, 3), (int) commands.arg(i, 4),
+                            commands.arg(i, 5), (int) commands.arg(i, 6));
+                    spawned.setLevel(this);
+                    zombies.adopt(spawned);
+                    zombiesChanged = true;
+                    break;
+                case EntityCommandBuffer.REMOVE_ZOMBIE:
+                    Zombie removed = (Zombie) commands.entity(i);
+                    zombies.remove(removed);
+                    removed.releasePathState();
+                    zombiesChanged = true;
+                    break;
+                case EntityCommandBuffer.DESPAWN_ZOMBIE:
+                    Zombie dead = (Zombie) commands.entity(i);
+                    if (dead.store == zombies && !zombiePool.release(dead)) {
+                        zombies.remove(dead);
+                    }
+                    zombiesChanged = true;
+                    break;
+                case EntityCommandBuffer.ADD_PROJECTILE:
+                    projectiles.add((Projectile) commands.entity(i));
+                    break;
+                case EntityCommandBuffer.SPAWN_PROJECTILE:
+                    projectiles.spawn(commands.arg(i, 0), commands.arg(i, 1), commands.arg(i, 2),
+                            commands.arg(i, 3), commands.arg(i, 4), (int) commands.arg(i, 5), commands.arg(i, 6));
+                    break;
+                case EntityCommandBuffer.DESTROY_PROJECTILE:
+                    projectilesDestroyed = true;
+                    break;
+                default:
+                    break;
+            }
         }
+        commands.clear();
 
-        // Check if player is dead
-        if (player.isDead()) {
-            if (player.getLives() <= 0) {
-                gameOver();
-            }
+        if (projectilesDestroyed) {
+            projectiles.compact();
+        }
+        // The index was built before the changes; bring it in line with the store again
+        if (zombiesChanged) {
+            zombieIndex.refresh(zombies.asList());
         }
     }
 
     public void render(Object g) {
         environment.render(g);
-        for (Projectile p : projectiles) {
-            p.render(g);
+        for (int i = 0; i < projectiles.getLive(); i++) {
+            projectiles.get(i).render(g);
         }
         player.render(g);
-        for (Zombie zombie : zombies) {
+        for (Zombie zombie : zombies.asList()) {
             // Render all zombies, including dead ones, until their death animation is
             // finished and they are removed.
             zombie.render(g);
@@ -120,23 +264,23 @@ public class Level {
             spawnY = (float) (Math.random() * environment.getHeight());
         }
 
-        Zombie zombie;
         if (wave == 5) {
             // Spawn BOSS
             // Boss stats: high HP, slower speed but huge, high damage
             int hp = 1000;
             float speed = 90;
             int damage = 35;
-            zombie = new Boss(spawnX, spawnY, hp, speed, damage);
+            addZombie(new Boss(spawnX, spawnY, hp, speed, damage));
         } else {
             // Create zombie with increasing difficulty per wave
             int hp = 20 + (wave - 1) * 5;
             float speed = 50 + (wave - 1) * 10;
             int damage = 10 + (wave - 1) * 2;
-            zombie = new Zombie(spawnX, spawnY, 32, 32, hp, speed, damage);
+            commands.record(EntityCommandBuffer.SPAWN_ZOMBIE, spawnX, spawnY, 32, 32, hp, speed, damage);
+            if (!updating) {
+                applyCommands();
+            }
         }
-
-        zombies.add(zombie);
         zombiesSpawned++;
     }
 
@@ -163,6 +307,14 @@ public class Level {
         levelComplete = false;
         // wave is already incremented in completeLevel
         // parameters are already reset in completeLevel
+        prewarmZombies();
+    }
+
+    // Builds the wave's zombies up front so spawning mid-fight only recycles them
+    private void prewarmZombies() {
+        if (wave != 5) {
+            zombiePool.prewarm(zombiesRequired, 32, 32);
+        }
     }
 
     public int getId() {
@@ -178,6 +330,15 @@ public class Level {
     }
 
     public void setEnvironment(Environment environment) {
+        // Map-derived helpers belong to the old environment; they are rebuilt on demand
+        if (this.environment != null) {
+            if (hierarchicalPathfinder != null)
+                this.environment.removeCollisionListener(hierarchicalPathfinder);
+            if (clearanceMap != null)
+                this.environment.removeCollisionListener(clearanceMap);
+        }
+        hierarchicalPathfinder = null;
+        clearanceMap = null;
         this.environment = environment;
     }
 
@@ -189,66 +350,248 @@ public class Level {
         this.player = player;
     }
 
+    // Live read-only view in store order; add and remove through addZombie/removeZombie. The
+    // slots only change between ticks, never while update() is running.
     public List<Zombie> getZombies() {
+        return zombies.asList();
+    }
+
+    public ZombieStore getZombieStore() {
         return zombies;
     }
 
+    public ZombiePool getZombiePool() {
+        return zombiePool;
+    }
+
+    // Called during a tick, the change waits for the end of it (see EntityCommandBuffer)
     public void addZombie(Zombie zombie) {
-        zombies.add(zombie);
+        if (updating) {
+            commands.record(EntityCommandBuffer.ADD_ZOMBIE, zombie);
+            return;
+        }
+        zombie.setLevel(this);
+        zombies.adopt(zombie);
+        zombieIndex.insert(zombie);
     }
 
     public void removeZombie(Zombie zombie) {
+        if (updating) {
+            commands.record(EntityCommandBuffer.REMOVE_ZOMBIE, zombie);
+            return;
+        }
         zombies.remove(zombie);
+        zombieIndex.remove(zombie);
+        zombie.releasePathState();
+    }
+
+    // Refreshed every tick after movement; zombies added or removed since then are inserted
+    // or removed as it happens. Dead zombies stay in it until they leave the list, so check
+    // isAlive().
+    public SpatialIndex<Zombie> getZombieIndex() {
+        return zombieIndex;
+    }
+
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    public void setBroadphase(Broadphase broadphase) {
+        if (broadphase == this.broadphase)
+            return;
+        this.broadphase = broadphase;
+        if (broadphase == Broadphase.LOOSE_QUADTREE) {
+            zombieIndex = new LooseQuadtree<>(0, 0, environment.getWidth(), environment.getHeight());
+        } else {
+            zombieIndex = new SpatialHash<>();
+        }
+        zombieIndex.refresh(zombies.asList());
+    }
+
+    // Threads steering zombies in parallel: 0 uses the common ForkJoinPool, 1 steers them on
+    // the game thread. The outcome of a tick is the same either way.
+    public void setAiThreads(int threads) {
+        aiPhase.shutdown();
+        aiPhase = (threads == 0) ? new ZombieAiPhase() : new ZombieAiPhase(threads);
+    }
+
+    public CrowdSteering getCrowdSteering() {
+        return crowdSteering;
+    }
+
+    // Null when zombies are not steering by the shared flow field
+    public FlowField getFlowField() {
+        return pathingMode == PathingMode.FLOW_FIELD ? flowField : null;
+    }
+
+    // Backs the shared path cache; use setAlgorithm on it to switch between A* and JPS
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    // Shared by all zombies so near-identical path queries are answered without searching
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    // Null on maps small enough for a direct grid search
+    public HierarchicalPathfinder getHierarchicalPathfinder() {
+        CollisionGrid grid = environment.getCollisionGrid();
+        if (grid == null || grid.getWidth() * grid.getHeight() < HIERARCHICAL_MIN_TILES) {
+            return null;
+        }
+        if (hierarchicalPathfinder == null) {
+            hierarchicalPathfinder = new HierarchicalPathfinder(environment);
+            environment.addCollisionListener(hierarchicalPathfinder);
+        }
+        return hierarchicalPathfinder;
+    }
+
+    // Per-tile clearance for units bigger than one tile (the Boss)
+    public ClearanceMap getClearanceMap() {
+        if (clearanceMap == null) {
+            clearanceMap = new ClearanceMap(environment);
+            environment.addCollisionListener(clearanceMap);
+        }
+        return clearanceMap;
+    }
+
+    // Null unless zombies are pathing asynchronously
+    public PathRequestService getPathRequestService() {
+        if (pathingMode != PathingMode.ASYNC) {
+            return null;
+        }
+        if (pathRequestService == null) {
+            pathRequestService = new PathRequestService(pathfinder.getAlgorithm());
+            pathRequestService.setAnyAngle(anyAnglePaths);
+        }
+        return pathRequestService;
+    }
+
+    // Null unless zombie searches are time-sliced
+    public PathScheduler getPathScheduler() {
+        if (pathingMode != PathingMode.TIME_SLICED) {
+            return null;
+        }
+        if (pathScheduler == null) {
+            pathScheduler = new PathScheduler(pathfinder.getAlgorithm());
+            pathScheduler.setAnyAngle(anyAnglePaths);
+        }
+        return pathScheduler;
+    }
+
+    // Stops background workers; call when the level is thrown away
+    public void dispose() {
+        aiPhase.shutdown();
+        if (pathRequestService != null) {
+            pathRequestService.shutdown();
+            pathRequestService = null;
+        }
+    }
+
+    public boolean isAnyAnglePaths() {
+        return anyAnglePaths;
+    }
+
+    // Per-zombie paths reduced to corner waypoints, so zombies walk straight lines instead of
+    // tile-by-tile staircases (on by default)
+    public void setAnyAnglePaths(boolean anyAnglePaths) {
+        this.anyAnglePaths = anyAnglePaths;
+        pathfinder.setAnyAngle(anyAnglePaths);
+        pathCache.clear();
+        if (pathRequestService != null)
+            pathRequestService.setAnyAngle(anyAnglePaths);
+        if (pathScheduler != null)
+            pathScheduler.setAnyAngle(anyAnglePaths);
+    }
+
+    public PathingMode getPathingMode() {
+        return pathingMode;
+    }
+
+    public void setPathingMode(PathingMode pathingMode) {
+        this.pathingMode = pathingMode;
     }
 
     // Projectile Management
-    private List<Projectile> projectiles = new ArrayList<>();
+    private ProjectilePool projectiles = new ProjectilePool();
+
+    // Fires a pooled projectile; during a tick it enters the pool at the end of it
+    public void spawnProjectile(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
+        if (updating) {
+            commands.record(EntityCommandBuffer.SPAWN_PROJECTILE, x, y, dx, dy, speed, damage, maxDistance);
+            return;
+        }
+        projectiles.spawn(x, y, dx, dy, speed, damage, maxDistance);
+    }
 
     public void addProjectile(Projectile p) {
+        if (updating) {
+            commands.record(EntityCommandBuffer.ADD_PROJECTILE, p);
+            return;
+        }
         projectiles.add(p);
     }
 
     public List<Projectile> getProjectiles() {
+        return projectiles.asList();
+    }
+
+    public ProjectilePool getProjectilePool() {
         return projectiles;
     }
 
     private void updateProjectiles(float dt) {
-        for (int i = 0; i < projectiles.size(); i++) {
+        for (int i = 0; i < projectiles.getLive(); i++) {
             Projectile p = projectiles.get(i);
             p.update(dt);
-
-            // Wall collision
-            if (!environment.isWalkable(p.getX(), p.getY())) {
-                p.setActive(false);
-            }
+            sweepProjectile(p);
 
             if (!p.isActive()) {
-                projectiles.remove(i);
-                i--;
+                // Compacted out of the pool at the end of the tick
+                commands.record(EntityCommandBuffer.DESTROY_PROJECTILE, p);
             }
         }
     }
 
-    private void checkProjectileCollisions() {
-        for (int i = 0; i < projectiles.size(); i++) {
-            Projectile p = projectiles.get(i);
-            if (!p.isActive())
-                continue;
-
-            // Check collision with zombies
-            for (Zombie z : zombies) {
-                if (z.isAlive() && z.getBounds() instanceof Rectangle && p.getBounds() instanceof Rectangle) {
-                    Rectangle pRect = (Rectangle) p.getBounds();
-                    Rectangle zRect = (Rectangle) z.getBounds();
-
-                    if (pRect.intersects(zRect)) {
-                        z.takeDamage(p.getDamage());
-                        p.setActive(false);
-                        break; // One bullet hits one zombie (for now)
-                    }
+    // Continuous collision: sweeps the projectile's box along the segment it moved this tick,
+    // so a fast bullet cannot skip over a thin wall or a small zombie between two frames.
+    // Walls come from a DDA over the tiles the segment crosses, zombies from the spatial index
+    // cells along it; whichever the segment reaches first stops the bullet.
+    private void sweepProjectile(Projectile p) {
+        float halfWidth = p.getWidth() / 2f;
+        float halfHeight = p.getHeight() / 2f;
+        float fromX = p.getPreviousX() + halfWidth;
+        float fromY = p.getPreviousY() + halfHeight;
+        float toX = p.getX() + halfWidth;
+        float toY = p.getY() + halfHeight;
+
+        // Wall collision, tested along the centre line
+        float hitTime = environment.castRay(fromX, fromY, toX, toY);
+
+        // The earliest zombie the box touches before the wall, if any
+        Zombie target = null;
+        float pad = Math.max(halfWidth, halfHeight);
+        nearbyZombies.clear();
+        zombieIndex.querySegment(fromX, fromY, toX, toY, pad, nearbyZombies);
+        for (Zombie z : nearbyZombies) {
+            if (z.isAlive() && z.getBounds() instanceof Rectangle) {
+                Rectangle zRect = (Rectangle) z.getBounds();
+                float time = Rectangle.segmentEntry(fromX, fromY, toX, toY, zRect.x - pad, zRect.y - pad,
+                        zRect.x + zRect.width + pad, zRect.y + zRect.height + pad);
+                if (time < hitTime) {
+                    hitTime = time;
+                    target = z;
                 }
             }
         }
+
+        if (target != null) {
+            target.takeDamage(p.getDamage()); // One bullet hits one zombie (for now)
+            p.setActive(false);
+        } else if (hitTime <= 1f) {
+            p.setActive(false);
+        }
     }
 
     public boolean isLevelComplete() {
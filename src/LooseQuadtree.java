@@ -0,0 +1,309 @@
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Loose quadtree over entity bounds. Every node owns a square cell, but stores entities
+// against its loose bounds, the cell doubled around the same centre. An entity lives in the
+// deepest node whose cell holds its centre and whose half-size is at least the entity's own
+// half-extent, which guarantees its box fits in that node's loose bounds. So each entity sits
+// in exactly one node: the 128 px Boss a few levels up, 8 px bullets near the leaves, with no
+// duplicate entries and no coarse cells forced on the small ones.
+//
+// Moving is cheap: an entity keeps its node until its box leaves the loose bounds, and only
+// then is it re-linked. The root doubles toward anything outside it, so the tree is not tied to
+// the window or the initial map size. Nodes are created on demand and kept once created;
+// per-subtree counts let queries skip empty branches.
+public class LooseQuadtree<T extends Entity> implements SpatialIndex<T> {
+    private static final float MIN_HALF_SIZE = 16f; // smallest cell is 32 px
+    private static final int MAX_GROWTH = 32; // root doublings per insert (guards non-finite input)
+
+    private static class Node<T> {
+        final float centerX;
+        final float centerY;
+        final float half; // cell is centre +- half, loose bounds centre +- 2 * half
+        Node<T> parent;
+        Node<T>[] children; // created on demand; index (x >= centre ? 1 : 0) + (y >= centre ? 2 : 0)
+        final List<Entry<T>> entries;
+        int subtreeCount; // entries in this node and everything below it
+
+        Node(float centerX, float centerY, float half) {
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.half = half;
+            this.entries = new ArrayList<>();
+        }
+    }
+
+    private static class Entry<T> {
+        final T entity;
+        Node<T> node;
+        int slot; // position in node.entries
+        float minX;
+        float minY;
+        float maxX;
+        float maxY;
+        int refreshStamp;
+
+        Entry(T entity) {
+            this.entity = entity;
+        }
+    }
+
+    private final Map<T, Entry<T>> entries;
+    private Node<T> root;
+    private int refreshStamp;
+
+    public LooseQuadtree(float minX, float minY, float maxX, float maxY) {
+        this.entries = new IdentityHashMap<>();
+        float half = Math.max(MIN_HALF_SIZE, Math.max(maxX - minX, maxY - minY) / 2f);
+        this.root = new Node<>((minX + maxX) / 2f, (minY + maxY) / 2f, half);
+    }
+
+    // Inserting an entity that is already indexed just moves it
+    @Override
+    public void insert(T entity) {
+        Entry<T> entry = entries.get(entity);
+        if (entry != null) {
+            move(entry);
+            return;
+        }
+        entry = new Entry<>(entity);
+        entries.put(entity, entry);
+        capture(entry);
+        place(entry);
+    }
+
+    // Call after the entity moved or resized; re-links it only if it left its node's loose bounds
+    public void move(T entity) {
+        Entry<T> entry = entries.get(entity);
+        if (entry == null) {
+            insert(entity);
+        } else {
+            move(entry);
+        }
+    }
+
+    @Override
+    public void remove(T entity) {
+        Entry<T> entry = entries.remove(entity);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    // Moves everything in the list and drops whatever is indexed but no longer listed
+    @Override
+    public void refresh(List<? extends T> list) {
+        int stamp = ++refreshStamp;
+        for (int i = 0; i < list.size(); i++) {
+            T entity = list.get(i);
+            Entry<T> entry = entries.get(entity);
+            if (entry == null) {
+                insert(entity);
+                entry = entries.get(entity);
+            } else {
+                move(entry);
+            }
+            entry.refreshStamp = stamp;
+        }
+        if (entries.size() > list.size()) {
+            Iterator<Entry<T>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry<T> entry = it.next();
+                if (entry.refreshStamp != stamp) {
+                    unlink(entry);
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        root = new Node<>(root.centerX, root.centerY, root.half);
+    }
+
+    @Override
+    public void queryAABB(float left, float top, float right, float bottom, List<? super T> out) {
+        queryAABB(root, left, top, right, bottom, out);
+    }
+
+    @Override
+    public void queryRadius(float centerX, float centerY, float radius, List<? super T> out) {
+        queryRadius(root, centerX, centerY, radius * radius, out);
+    }
+
+    @Override
+    public void querySegment(float x0, float y0, float x1, float y1, float pad, List<? super T> out) {
+        querySegment(root, x0, y0, x1, y1, pad, out);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    private void queryAABB(Node<T> node, float left, float top, float right, float bottom, List<? super T> out) {
+        float loose = node.half * 2;
+        if (node.subtreeCount == 0 || node.centerX - loose > right || node.centerX + loose < left
+                || node.centerY - loose > bottom || node.centerY + loose < top)
+            return;
+        for (int i = 0; i < node.entries.size(); i++) {
+            Entry<T> entry = node.entries.get(i);
+            if (entry.minX <= right && entry.maxX >= left && entry.minY <= bottom && entry.maxY >= top) {
+                out.add(entry.entity);
+            }
+        }
+        if (node.children != null) {
+            for (Node<T> child : node.children) {
+                if (child != null)
+                    queryAABB(child, left, top, right, bottom, out);
+            }
+        }
+    }
+
+    private void queryRadius(Node<T> node, float centerX, float centerY, float radiusSq, List<? super T> out) {
+        float loose = node.half * 2;
+        if (node.subtreeCount == 0 || distanceSq(centerX, centerY, node.centerX - loose, node.centerY - loose,
+                node.centerX + loose, node.centerY + loose) > radiusSq)
+            return;
+        for (int i = 0; i < node.entries.size(); i++) {
+            Entry<T> entry = node.entries.get(i);
+            if (distanceSq(centerX, centerY, entry.minX, entry.minY, entry.maxX, entry.maxY) <= radiusSq) {
+                out.add(entry.entity);
+            }
+        }
+        if (node.children != null) {
+            for (Node<T> child : node.children) {
+                if (child != null)
+                    queryRadius(child, centerX, centerY, radiusSq, out);
+            }
+        }
+    }
+
+    private void querySegment(Node<T> node, float x0, float y0, float x1, float y1, float pad, List<? super T> out) {
+        float loose = node.half * 2 + pad;
+        if (node.subtreeCount == 0 || Rectangle.segmentEntry(x0, y0, x1, y1, node.centerX - loose,
+                node.centerY - loose, node.centerX + loose, node.centerY + loose) > 1f)
+            return;
+        for (int i = 0; i < node.entries.size(); i++) {
+            Entry<T> entry = node.entries.get(i);
+            if (Rectangle.segmentEntry(x0, y0, x1, y1, entry.minX - pad, entry.minY - pad, entry.maxX + pad,
+                    entry.maxY + pad) <= 1f) {
+                out.add(entry.entity);
+            }
+        }
+        if (node.children != null) {
+            for (Node<T> child : node.children) {
+                if (child != null)
+                    querySegment(child, x0, y0, x1, y1, pad, out);
+            }
+        }
+    }
+
+    // Squared distance from the point to the closest point of the box
+    private static float distanceSq(float x, float y, float minX, float minY, float maxX, float maxY) {
+        float dx = Math.max(minX - x, Math.max(0, x - maxX));
+        float dy = Math.max(minY - y, Math.max(0, y - maxY));
+        return dx * dx + dy * dy;
+    }
+
+    private void move(Entry<T> entry) {
+        capture(entry);
+        Node<T> node = entry.node;
+        float loose = node.half * 2;
+        if (entry.minX >= node.centerX - loose && entry.maxX <= node.centerX + loose
+                && entry.minY >= node.centerY - loose && entry.maxY <= node.centerY + loose)
+            return;
+        unlink(entry);
+        place(entry);
+    }
+
+    private void capture(Entry<T> entry) {
+        T entity = entry.entity;
+        entry.minX = entity.getX();
+        entry.minY = entity.getY();
+        entry.maxX = entry.minX + entity.getWidth();
+        entry.maxY = entry.minY + entity.getHeight();
+    }
+
+    // Links the entry into the deepest node that takes it, growing the root first if needed
+    private void place(Entry<T> entry) {
+        float centerX = (entry.minX + entry.maxX) / 2f;
+        float centerY = (entry.minY + entry.maxY) / 2f;
+        float extent = Math.max(entry.maxX - entry.minX, entry.maxY - entry.minY) / 2f;
+        for (int i = 0; i < MAX_GROWTH && !covers(root, centerX, centerY, extent); i++) {
+            grow(centerX, centerY);
+        }
+
+        Node<T> node = root;
+        while (node.half / 2 >= MIN_HALF_SIZE && extent <= node.half / 2) {
+            node = child(node, quadrant(node, centerX, centerY));
+        }
+        entry.node = node;
+        entry.slot = node.entries.size();
+        node.entries.add(entry);
+        for (Node<T> n = node; n != null; n = n.parent) {
+            n.subtreeCount++;
+        }
+    }
+
+    private void unlink(Entry<T> entry) {
+        Node<T> node = entry.node;
+        // Swap-remove, keeping the moved entry's slot in step
+        Entry<T> last = node.entries.remove(node.entries.size() - 1);
+        if (last != entry) {
+            node.entries.set(entry.slot, last);
+            last.slot = entry.slot;
+        }
+        for (Node<T> n = node; n != null; n = n.parent) {
+            n.subtreeCount--;
+        }
+        entry.node = null;
+    }
+
+    private static boolean covers(Node<?> node, float centerX, float centerY, float extent) {
+        return extent <= node.half && centerX >= node.centerX - node.half && centerX < node.centerX + node.half
+                && centerY >= node.centerY - node.half && centerY < node.centerY + node.half;
+    }
+
+    // Doubles the root toward the point; the old root becomes one quadrant of the new one
+    private void grow(float towardX, float towardY) {
+        Node<T> old = root;
+        float centerX = towardX < old.centerX ? old.centerX - old.half : old.centerX + old.half;
+        float centerY = towardY < old.centerY ? old.centerY - old.half : old.centerY + old.half;
+        Node<T> grown = new Node<>(centerX, centerY, old.half * 2);
+        grown.children = newChildren();
+        grown.children[quadrant(grown, old.centerX, old.centerY)] = old;
+        grown.subtreeCount = old.subtreeCount;
+        old.parent = grown;
+        root = grown;
+    }
+
+    private Node<T> child(Node<T> node, int quadrant) {
+        if (node.children == null) {
+            node.children = newChildren();
+        }
+        Node<T> child = node.children[quadrant];
+        if (child == null) {
+            float quarter = node.half / 2;
+            child = new Node<>(node.centerX + ((quadrant & 1) != 0 ? quarter : -quarter),
+                    node.centerY + ((quadrant & 2) != 0 ? quarter : -quarter), quarter);
+            child.parent = node;
+            node.children[quadrant] = child;
+        }
+        return child;
+    }
+
+    private static int quadrant(Node<?> node, float x, float y) {
+        return (x >= node.centerX ? 1 : 0) + (y >= node.centerY ? 2 : 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T>[] newChildren() {
+        return (Node<T>[]) new Node<?>[4];
+    }
+}
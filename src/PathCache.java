@@ -0,0 +1,101 @@
+import java.awt.Point;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bounded LRU cache in front of Pathfinder. Entries are keyed by the packed start and goal
+// tile indices and are only valid for the collision version they were computed against;
+// when Environment reports a new version the whole cache is dropped, since none of the old
+// paths can be trusted any more. Cached paths are unmodifiable and shared between callers.
+public class PathCache {
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final Pathfinder pathfinder;
+    private final int maxEntries;
+    private final LinkedHashMap<Long, List<Point>> entries;
+    private int gridVersion;
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    public PathCache(Pathfinder pathfinder) {
+        this(pathfinder, DEFAULT_MAX_ENTRIES);
+    }
+
+    public PathCache(Pathfinder pathfinder, int maxEntries) {
+        this.pathfinder = pathfinder;
+        this.maxEntries = maxEntries;
+        this.gridVersion = -1;
+        // Access order makes iteration order least-recently-used first
+        this.entries = new LinkedHashMap<Long, List<Point>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Point>> eldest) {
+                if (size() > PathCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public List<Point> findPath(Point start, Point goal, Environment environment) {
+        CollisionGrid grid = environment.getCollisionGrid();
+        if (grid == null || grid.getHeight() == 0 || start == null || goal == null) {
+            return Collections.emptyList();
+        }
+
+        if (environment.getCollisionVersion() != gridVersion) {
+            entries.clear();
+            gridVersion = environment.getCollisionVersion();
+        }
+
+        // Clamp the same way Pathfinder does so equivalent queries share one entry
+        int rows = grid.getHeight();
+        int cols = grid.getWidth();
+        int startIndex = Math.max(0, Math.min(start.y, rows - 1)) * cols + Math.max(0, Math.min(start.x, cols - 1));
+        int goalIndex = Math.max(0, Math.min(goal.y, rows - 1)) * cols + Math.max(0, Math.min(goal.x, cols - 1));
+        Long key = ((long) startIndex << 32) | (goalIndex & 0xffffffffL);
+
+        List<Point> path = entries.get(key);
+        if (path != null) {
+            hits++;
+            return path;
+        }
+
+        misses++;
+        path = Collections.unmodifiableList(pathfinder.findPath(start, goal, grid));
+        entries.put(key, path);
+        return path;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    public float getHitRate() {
+        int total = hits + misses;
+        return total == 0 ? 0 : (float) hits / total;
+    }
+}
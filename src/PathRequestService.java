@@ -0,0 +1,172 @@
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Solves zombie path requests on a small worker pool so a burst of expiring path timers
+// can't stall the game loop. Workers search an immutable copy of the collision map taken
+// when its version changes; finished paths are queued and handed to the zombies at the
+// start of a later tick by deliverResults(). A zombie has at most one queued request:
+// submitting again before a worker picks it up just replaces the start/goal.
+public class PathRequestService {
+    private static final int DEFAULT_WORKERS = 2;
+
+    private static class Request {
+        final Zombie zombie;
+        final Point start;
+        final Point goal;
+        final CollisionGrid grid;
+        final long submittedAt;
+
+        Request(Zombie zombie, Point start, Point goal, CollisionGrid grid, long submittedAt) {
+            this.zombie = zombie;
+            this.start = start;
+            this.goal = goal;
+            this.grid = grid;
+            this.submittedAt = submittedAt;
+        }
+    }
+
+    private static class Result {
+        final Zombie zombie;
+        final List<Point> path;
+        final long submittedAt;
+
+        Result(Zombie zombie, List<Point> path, long submittedAt) {
+            this.zombie = zombie;
+            this.path = path;
+            this.submittedAt = submittedAt;
+        }
+    }
+
+    private final ExecutorService workers;
+    private final ThreadLocal<Pathfinder> workerPathfinder;
+    private final ConcurrentHashMap<Zombie, Request> pending;
+    private final ConcurrentLinkedQueue<Result> completed;
+
+    // Collision grid copy shared by all requests made against the same version
+    private CollisionGrid snapshot;
+    private volatile boolean anyAngle;
+
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final AtomicInteger solved = new AtomicInteger();
+    private int delivered;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private final AtomicLong totalSolveNanos = new AtomicLong();
+
+    public PathRequestService(Pathfinder.Algorithm algorithm) {
+        this(algorithm, DEFAULT_WORKERS);
+    }
+
+    public PathRequestService(Pathfinder.Algorithm algorithm, int workerCount) {
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "path-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workerPathfinder = ThreadLocal.withInitial(() -> new Pathfinder(algorithm));
+        this.pending = new ConcurrentHashMap<>();
+        this.completed = new ConcurrentLinkedQueue<>();
+    }
+
+    // Called from the game loop
+    public void submit(Zombie zombie, Point start, Point goal, Environment environment) {
+        CollisionGrid grid = environment.getCollisionGrid();
+        if (grid == null || grid.getHeight() == 0)
+            return;
+
+        if (snapshot == null || grid.getVersion() != snapshot.getVersion()) {
+            // Versions never repeat, so a matching version means identical bits
+            snapshot = grid.copy();
+        }
+
+        submitted.incrementAndGet();
+        Request request = new Request(zombie, start, goal, snapshot, System.nanoTime());
+        if (pending.put(zombie, request) != null) {
+            // A worker hasn't started on this zombie yet; it will pick up the newer request
+            coalesced.incrementAndGet();
+            return;
+        }
+        workers.execute(() -> solve(zombie));
+    }
+
+    private void solve(Zombie zombie) {
+        Request request = pending.remove(zombie);
+        if (request == null)
+            return;
+
+        long began = System.nanoTime();
+        Pathfinder pathfinder = workerPathfinder.get();
+        pathfinder.setAnyAngle(anyAngle);
+        List<Point> path = pathfinder.findPath(request.start, request.goal, request.grid);
+        totalSolveNanos.addAndGet(System.nanoTime() - began);
+        solved.incrementAndGet();
+        completed.add(new Result(zombie, path, request.submittedAt));
+    }
+
+    // Called at the start of a tick: applies every path finished since the last call
+    public void deliverResults() {
+        long now = System.nanoTime();
+        Result result;
+        while ((result = completed.poll()) != null) {
+            long latency = now - result.submittedAt;
+            totalLatencyNanos += latency;
+            if (latency > maxLatencyNanos)
+                maxLatencyNanos = latency;
+            delivered++;
+
+            if (result.zombie.isAlive()) {
+                result.zombie.onPathComputed(result.path);
+            }
+        }
+    }
+
+    // Corner-only paths, see Pathfinder.setAnyAngle
+    public void setAnyAngle(boolean anyAngle) {
+        this.anyAngle = anyAngle;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+        pending.clear();
+        completed.clear();
+    }
+
+    // Requests waiting for a worker
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    public int getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public int getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public int getDeliveredCount() {
+        return delivered;
+    }
+
+    // Submit-to-delivery time, including the wait for the next tick
+    public float getAverageLatencyMillis() {
+        return delivered == 0 ? 0 : totalLatencyNanos / (delivered * 1_000_000f);
+    }
+
+    public float getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000f;
+    }
+
+    // Time spent searching on the workers
+    public float getAverageSolveMillis() {
+        int count = solved.get();
+        return count == 0 ? 0 : totalSolveNanos.get() / (count * 1_000_000f);
+    }
+}
@@ -0,0 +1,227 @@
+import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Runs zombie path searches on the game thread under a per-frame budget, so one search that
+// floods the grid (unreachable goal, maze) is spread over several frames instead of causing a
+// hitch. Searches are resumable: a job that runs out of budget keeps its open set and carries
+// on next frame. Jobs are served nearest-to-the-player first; a zombie has at most one job,
+// and resubmitting replaces its start/goal.
+public class PathScheduler {
+    private static final int DEFAULT_EXPANSIONS_PER_FRAME = 2000;
+    private static final int SLICE = 64; // expansions between clock checks when time-limited
+
+    private static class Job {
+        final Zombie zombie;
+        Point start;
+        Point goal;
+        float priority; // squared distance to the player when submitted
+        long sequence; // submission order, breaks priority ties
+        int submittedFrame;
+        GridSearch search; // null until the job first gets budget
+        int searchVersion; // collision version the search started against
+        int mapWidth;
+
+        Job(Zombie zombie) {
+            this.zombie = zombie;
+        }
+    }
+
+    private final Pathfinder.Algorithm algorithm;
+    private final PriorityQueue<Job> queue;
+    private final Map<Zombie, Job> jobs;
+    private final ArrayDeque<GridSearch> freeSearches;
+    private int expansionsPerFrame;
+    private long timeBudgetNanos; // 0 = expansion budget only
+    private boolean anyAngle;
+    private long nextSequence;
+    private int frame;
+
+    private int lastFrameExpansions;
+    private int completed;
+    private int restarted;
+    private int maxWaitFrames;
+
+    public PathScheduler(Pathfinder.Algorithm algorithm) {
+        this(algorithm, DEFAULT_EXPANSIONS_PER_FRAME);
+    }
+
+    public PathScheduler(Pathfinder.Algorithm algorithm, int expansionsPerFrame) {
+        this.algorithm = algorithm;
+        this.expansionsPerFrame = expansionsPerFrame;
+        this.queue = new PriorityQueue<>((a, b) -> {
+            int byPriority = Float.compare(a.priority, b.priority);
+            return byPriority != 0 ? byPriority : Long.compare(a.sequence, b.sequence);
+        });
+        this.jobs = new HashMap<>();
+        this.freeSearches = new ArrayDeque<>();
+    }
+
+    public void submit(Zombie zombie, Point start, Point goal, Player player) {
+        Job job = jobs.get(zombie);
+        if (job == null) {
+            job = new Job(zombie);
+            job.submittedFrame = frame;
+            jobs.put(zombie, job);
+        } else {
+            // Replace the queued request; a search already under way has to start over
+            queue.remove(job);
+            if (job.search != null) {
+                release(job);
+                restarted++;
+            }
+        }
+        float dx = player.getX() - zombie.getX();
+        float dy = player.getY() - zombie.getY();
+        job.start = start;
+        job.goal = goal;
+        job.priority = dx * dx + dy * dy;
+        job.sequence = nextSequence++;
+        queue.add(job);
+    }
+
+    // Called once per tick: spends this frame's budget and hands finished paths to zombies
+    public void update(Environment environment) {
+        frame++;
+        lastFrameExpansions = 0;
+        CollisionGrid grid = environment.getCollisionGrid();
+        if (grid == null || grid.getHeight() == 0)
+            return;
+
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        int budget = expansionsPerFrame;
+        while (budget > 0 && !queue.isEmpty()) {
+            Job job = queue.peek();
+            if (!job.zombie.isAlive()) {
+                drop(queue.poll());
+                continue;
+            }
+
+            if (job.search != null && job.searchVersion != environment.getCollisionVersion()) {
+                // The map changed under a paused search; its open set may be wrong now
+                release(job);
+                restarted++;
+            }
+            if (job.search == null && !begin(job, grid, environment.getCollisionVersion())) {
+                deliver(queue.poll(), Collections.emptyList());
+                continue;
+            }
+
+            // With a time budget, step in small slices and check the clock in between
+            int before = job.search.getExpansions();
+            GridSearch.Status status;
+            do {
+                status = job.search.step(Math.min(budget, timeBudgetNanos > 0 ? SLICE : budget));
+                budget -= Math.max(1, job.search.getExpansions() - before);
+                lastFrameExpansions += job.search.getExpansions() - before;
+                before = job.search.getExpansions();
+            } while (status == GridSearch.Status.RUNNING && budget > 0 && System.nanoTime() < deadline);
+
+            if (status == GridSearch.Status.RUNNING) {
+                // Out of budget; the job stays at the head of the queue for next frame
+                break;
+            }
+            queue.poll();
+            deliver(job, status == GridSearch.Status.FOUND ? toPoints(job, grid) : Collections.emptyList());
+            if (System.nanoTime() >= deadline)
+                break;
+        }
+    }
+
+    private boolean begin(Job job, CollisionGrid grid, int version) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int startX = Math.max(0, Math.min(job.start.x, width - 1));
+        int startY = Math.max(0, Math.min(job.start.y, height - 1));
+        int goalX = Math.max(0, Math.min(job.goal.x, width - 1));
+        int goalY = Math.max(0, Math.min(job.goal.y, height - 1));
+        if (grid.isBlocked(startX, startY) || grid.isBlocked(goalX, goalY))
+            return false;
+
+        GridSearch search = freeSearches.poll();
+        if (search == null) {
+            search = (algorithm == Pathfinder.Algorithm.JUMP_POINT) ? new JumpPointSearch() : new AStarSearch();
+        }
+        search.begin(startY * width + startX, goalY * width + goalX, grid);
+        job.search = search;
+        job.searchVersion = version;
+        job.mapWidth = width;
+        return true;
+    }
+
+    private List<Point> toPoints(Job job, CollisionGrid grid) {
+        int[] nodes = new int[job.search.getPathLength()];
+        job.search.copyPath(nodes);
+        List<Point> path = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            path.add(new Point(node % job.mapWidth, node / job.mapWidth));
+        }
+        return anyAngle ? Pathfinder.smoothPath(path, grid) : path;
+    }
+
+    private void deliver(Job job, List<Point> path) {
+        int waited = frame - job.submittedFrame;
+        if (waited > maxWaitFrames)
+            maxWaitFrames = waited;
+        completed++;
+        drop(job);
+        job.zombie.onPathComputed(path);
+    }
+
+    private void drop(Job job) {
+        release(job);
+        jobs.remove(job.zombie);
+    }
+
+    private void release(Job job) {
+        if (job.search != null) {
+            freeSearches.push(job.search);
+            job.search = null;
+        }
+    }
+
+    public int getExpansionsPerFrame() {
+        return expansionsPerFrame;
+    }
+
+    public void setExpansionsPerFrame(int expansionsPerFrame) {
+        this.expansionsPerFrame = Math.max(1, expansionsPerFrame);
+    }
+
+    // Corner-only paths, see Pathfinder.setAnyAngle
+    public void setAnyAngle(boolean anyAngle) {
+        this.anyAngle = anyAngle;
+    }
+
+    // Optional wall-clock cap on top of the expansion budget; 0 turns it off
+    public void setTimeBudgetMicros(int micros) {
+        this.timeBudgetNanos = Math.max(0, micros) * 1000L;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getLastFrameExpansions() {
+        return lastFrameExpansions;
+    }
+
+    public int getCompletedCount() {
+        return completed;
+    }
+
+    // Searches thrown away because the request or the map changed before they finished
+    public int getRestartedCount() {
+        return restarted;
+    }
+
+    // Longest submit-to-delivery wait so far, in frames
+    public int getMaxWaitFrames() {
+        return maxWaitFrames;
+    }
+}
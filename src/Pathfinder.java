@@ -1,47 +1,61 @@
 import java.awt.Point;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.PriorityQueue;
-import java.util.HashSet;
-import java.util.HashMap;
-import java.util.Comparator;
 
 public class Pathfinder {
-    private static final int[][] DIRECTIONS = {
-        {0, 1}, {1, 0}, {0, -1}, {-1, 0}, // 4-directional movement
-        {1, 1}, {1, -1}, {-1, 1}, {-1, -1} // diagonal movement
-    };
-    
-    private static final float STRAIGHT_COST = 1.0f;
-    private static final float DIAGONAL_COST = 1.414f; // sqrt(2)
-    
-    // Inner class to represent a node in the pathfinding algorithm
-    private static class Node {
-        Point point;
-        float gScore; // Cost from start
-        float hScore; // Heuristic cost to goal
-        float fScore; // gScore + hScore
-
-        Node(Point point, float gScore, float hScore) {
-            this.point = point;
-            this.gScore = gScore;
-            this.hScore = hScore;
-            this.fScore = gScore + hScore;
-        }
+    public enum Algorithm {
+        A_STAR, // plain A*, expands every tile it touches
+        JUMP_POINT // Jump Point Search, only expands jump points (uniform-cost grids)
     }
-    
+
+    // Search workspaces are per thread; the arrays and heaps inside are reused for every call
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private static class Workspace {
+        final AStarSearch aStar = new AStarSearch();
+        final JumpPointSearch jumpPoint = new JumpPointSearch();
+        int[] pathBuffer = new int[0];
+    }
+
+    private Algorithm algorithm;
+    private boolean anyAngle; // string-pull results down to their corner waypoints
+    private int lastExpansions;
+    private long totalExpansions;
+    private int searchCount;
+
     public Pathfinder() {
+        this(Algorithm.A_STAR);
+    }
+
+    public Pathfinder(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public List<Point> findPath(Point start, Point goal, CollisionGrid grid) {
+        return findPath(start, goal, grid, null, 1);
     }
 
+    // Convenience for plain arrays (non-zero = blocked); packs the array on every call
     public List<Point> findPath(Point start, Point goal, int[][] collisionMap) {
+        if (collisionMap == null || collisionMap.length == 0) {
+            return new ArrayList<>();
+        }
+        return findPath(start, goal, CollisionGrid.fromArray(collisionMap), null, 1);
+    }
+
+    // Path for an agent agentTiles wide, anchored at its top-left tile: start and goal are
+    // the agent's top-left tiles and every tile on the path has clearance >= agentTiles.
+    // Sized searches always run A*, since jump point pruning assumes a unit-size agent.
+    public List<Point> findPath(Point start, Point goal, CollisionGrid grid, ClearanceMap clearance,
+            int agentTiles) {
         List<Point> path = new ArrayList<>();
 
-        if (collisionMap == null || start == null || goal == null) {
+        if (grid == null || grid.getHeight() == 0 || start == null || goal == null) {
             return path;
         }
 
-        int mapHeight = collisionMap.length;
-        int mapWidth = collisionMap[0].length;
+        int mapHeight = grid.getHeight();
+        int mapWidth = grid.getWidth();
 
         // Clamp coordinates to valid range
         int startX = Math.max(0, Math.min(start.x, mapWidth - 1));
@@ -49,103 +63,131 @@ public class Pathfinder {
         int goalX = Math.max(0, Math.min(goal.x, mapWidth - 1));
         int goalY = Math.max(0, Math.min(goal.y, mapHeight - 1));
 
-        // If start or goal is on a collision tile, return empty path
-        if (collisionMap[startY][startX] != 0 || collisionMap[goalY][goalX] != 0) {
+        GridSearch search = search(startY * mapWidth + startX, goalY * mapWidth + goalX, grid,
+                clearance, agentTiles);
+        if (search == null) {
             return path;
         }
 
-        Point startPoint = new Point(startX, startY);
-        Point goalPoint = new Point(goalX, goalY);
-
-        // Open set - nodes to be evaluated
-        PriorityQueue<Node> openSet = new PriorityQueue<>((n1, n2) -> Float.compare(n1.fScore, n2.fScore));
-        // Closed set - nodes already evaluated
-        HashSet<String> closedSet = new HashSet<>();
-        // Track the best path
-        HashMap<String, Node> cameFrom = new HashMap<>();
-
-        Node startNode = new Node(startPoint, 0, heuristic(startPoint, goalPoint));
-        openSet.add(startNode);
-
-        while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
-            
-            if (current.point.equals(goalPoint)) {
-                // Reconstruct path
-                path = reconstructPath(cameFrom, current);
-                return path;
-            }
+        // Only the returned list is allocated; the search itself ran on reused arrays
+        Workspace workspace = WORKSPACE.get();
+        int length = search.getPathLength();
+        if (workspace.pathBuffer.length < length) {
+            workspace.pathBuffer = new int[Math.max(length, mapWidth * mapHeight)];
+        }
+        search.copyPath(workspace.pathBuffer);
+        for (int i = 0; i < length; i++) {
+            int node = workspace.pathBuffer[i];
+            path.add(new Point(node % mapWidth, node / mapWidth));
+        }
+        // Sized agents keep every tile; the line test below only knows about single tiles
+        return (anyAngle && (clearance == null || agentTiles <= 1)) ? smoothPath(path, grid) : path;
+    }
 
-            String currentKey = current.point.x + "," + current.point.y;
-            closedSet.add(currentKey);
-
-            // Check all neighbors
-            for (int i = 0; i < DIRECTIONS.length; i++) {
-                int newX = current.point.x + DIRECTIONS[i][0];
-                int newY = current.point.y + DIRECTIONS[i][1];
-
-                // Check bounds
-                if (newX < 0 || newX >= mapWidth || newY < 0 || newY >= mapHeight) {
-                    continue;
-                }
-
-                // Check if walkable
-                if (collisionMap[newY][newX] != 0) {
-                    continue;
-                }
-
-                String neighborKey = newX + "," + newY;
-                if (closedSet.contains(neighborKey)) {
-                    continue;
-                }
-
-                float cost = (i < 4) ? STRAIGHT_COST : DIAGONAL_COST;
-                float gScore = current.gScore + cost;
-                Point neighborPoint = new Point(newX, newY);
-                float hScore = heuristic(neighborPoint, goalPoint);
-                Node neighbor = new Node(neighborPoint, gScore, hScore);
-
-                // Check if this path is better than any previous path to this neighbor
-                boolean isNewNode = true;
-                for (Node node : openSet) {
-                    if (node.point.equals(neighborPoint)) {
-                        if (gScore < node.gScore) {
-                            openSet.remove(node);
-                            openSet.add(neighbor);
-                            cameFrom.put(neighborKey, current);
-                        }
-                        isNewNode = false;
-                        break;
-                    }
-                }
-
-                if (isNewNode) {
-                    openSet.add(neighbor);
-                    cameFrom.put(neighborKey, current);
-                }
+    // String pulling: drops every waypoint the walker can skip by going straight from the
+    // previous kept waypoint, leaving the start, the corners and the goal. Straight moves
+    // between kept waypoints only cross walkable tiles (see CollisionGrid.hasLineOfSight).
+    public static List<Point> smoothPath(List<Point> path, CollisionGrid grid) {
+        if (path.size() <= 2)
+            return path;
+
+        List<Point> corners = new ArrayList<>();
+        Point anchor = path.get(0);
+        corners.add(anchor);
+        for (int i = 2; i < path.size(); i++) {
+            Point candidate = path.get(i);
+            if (!grid.hasLineOfSight(anchor.x, anchor.y, candidate.x, candidate.y)) {
+                anchor = path.get(i - 1);
+                corners.add(anchor);
             }
         }
+        corners.add(path.get(path.size() - 1));
+        return corners;
+    }
 
-        // No path found
-        return path;
+    // Index-based variant: writes the path (start first) as tile indices into pathOut.
+    // Returns the path length, 0 if there is no path; if pathOut is too short nothing is
+    // written and the caller can retry with a larger buffer.
+    public int findPath(int start, int goal, CollisionGrid grid, int[] pathOut) {
+        GridSearch search = search(start, goal, grid, null, 1);
+        if (search == null) {
+            return 0;
+        }
+        return search.copyPath(pathOut);
     }
 
-    private List<Point> reconstructPath(HashMap<String, Node> cameFrom, Node current) {
-        List<Point> path = new ArrayList<>();
-        path.add(current.point);
+    private GridSearch search(int start, int goal, CollisionGrid grid, ClearanceMap clearance,
+            int agentTiles) {
+        if (grid == null || grid.getHeight() == 0) {
+            return null;
+        }
+        int mapWidth = grid.getWidth();
+        boolean sized = clearance != null && agentTiles > 1;
+
+        // If start or goal is on a collision tile (or too tight for the agent), there is no path
+        if (sized) {
+            clearance.refresh();
+            if (clearance.getClearance(start) < agentTiles || clearance.getClearance(goal) < agentTiles) {
+                lastExpansions = 0;
+                return null;
+            }
+        } else if (grid.isBlocked(start % mapWidth, start / mapWidth)
+                || grid.isBlocked(goal % mapWidth, goal / mapWidth)) {
+            lastExpansions = 0;
+            return null;
+        }
 
-        String currentKey = current.point.x + "," + current.point.y;
-        while (cameFrom.containsKey(currentKey)) {
-            current = cameFrom.get(currentKey);
-            path.add(0, current.point);
-            currentKey = current.point.x + "," + current.point.y;
+        Workspace workspace = WORKSPACE.get();
+        GridSearch search;
+        if (sized) {
+            workspace.aStar.begin(start, goal, grid, clearance, agentTiles);
+            search = workspace.aStar;
+        } else {
+            search = (algorithm == Algorithm.JUMP_POINT) ? workspace.jumpPoint : workspace.aStar;
+            search.begin(start, goal, grid);
         }
+        GridSearch.Status status = search.run();
+
+        lastExpansions = search.getExpansions();
+        totalExpansions += lastExpansions;
+        searchCount++;
+        return status == GridSearch.Status.FOUND ? search : null;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public boolean isAnyAngle() {
+        return anyAngle;
+    }
+
+    // When on, findPath(Point, ...) returns only corner waypoints (the index-based variant
+    // always returns every tile)
+    public void setAnyAngle(boolean anyAngle) {
+        this.anyAngle = anyAngle;
+    }
+
+    // Node expansions of the most recent search, for comparing A* against JPS
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    public long getTotalExpansions() {
+        return totalExpansions;
+    }
 
-        return path;
+    public int getSearchCount() {
+        return searchCount;
     }
 
-    private float heuristic(Point a, Point b) {
-        // Manhattan distance heuristic
-        return Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+    public void resetCounters() {
+        lastExpansions = 0;
+        totalExpansions = 0;
+        searchCount = 0;
     }
 }
@@ -73,22 +73,13 @@ public class Player extends Character {
         }
 
         // Attack Animation
-        attackAnim = loadAnimationFromStrip("assets/skins/player/Attack_1.png", 0, 100);
-        if (attackAnim != null) {
-            attackAnim.setLooping(false);
-        }
+        attackAnim = loadAnimationFromStrip("assets/skins/player/Attack_1.png", 0, 100, false);
 
         // Shoot Animation
-        shootAnim = loadAnimationFromStrip("assets/skins/player/Shot.png", 0, 100);
-        if (shootAnim != null) {
-            shootAnim.setLooping(false);
-        }
+        shootAnim = loadAnimationFromStrip("assets/skins/player/Shot.png", 0, 100, false);
 
         // Hurt Animation
-        hurtAnim = loadAnimationFromStrip("assets/skins/player/Hurt.png", 0, 100);
-        if (hurtAnim != null) {
-            hurtAnim.setLooping(false);
-        }
+        hurtAnim = loadAnimationFromStrip("assets/skins/player/Hurt.png", 0, 100, false);
 
         currentAnimation = idleAnim;
     }
@@ -96,6 +87,8 @@ public class Player extends Character {
     public void spawn(float x, float y) {
         this.x = x;
         this.y = y;
+        this.previousX = x; // appear at the spawn point instead of sliding there
+        this.previousY = y;
         this.alive = true;
         this.hp = maxHp;
         this.invulnerabilityTimer = INVULNERABILITY_TIME;
@@ -107,7 +100,7 @@ public class Player extends Character {
         this.level = level;
     }
 
-    public void handleInput(InputHandler input) {
+    public void handleInput(InputHandler input, float dt) {
         // Weapon Switching
         if (input.isSwitchingToMelee()) {
             for (Weapon w : weapons) {
@@ -136,16 +129,16 @@ public class Player extends Character {
 
         if (isRunning && stamina > 0) {
             speed = runSpeed;
-            stamina -= staminaDrain * (1.0f / 60.0f); // Approx dt
+            stamina -= staminaDrain * dt;
             staminaRegenTimer = STAMINA_COOLDOWN;
             if (stamina < 0)
                 stamina = 0;
         } else {
             speed = walkSpeed;
             if (staminaRegenTimer > 0) {
-                staminaRegenTimer -= (1.0f / 60.0f);
+                staminaRegenTimer -= dt;
             } else if (stamina < maxStamina) {
-                stamina += staminaRegen * (1.0f / 60.0f);
+                stamina += staminaRegen * dt;
                 if (stamina > maxStamina)
                     stamina = maxStamina;
             }
@@ -389,11 +382,8 @@ public class Player extends Character {
     }
 
     private boolean canMove(float newX, float newY) {
-        // Check all 4 corners of the player's bounding box
-        return environment.isWalkable(newX, newY) &&
-                environment.isWalkable(newX + width - 1, newY) &&
-                environment.isWalkable(newX, newY + height - 1) &&
-                environment.isWalkable(newX + width - 1, newY + height - 1);
+        // Every tile under the player's bounding box must be walkable
+        return environment.isAreaWalkable(newX, newY, width, height);
     }
 
     private float aimX, aimY;
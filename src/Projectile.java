@@ -13,6 +13,13 @@ public class Projectile extends Entity {
 
     public Projectile(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
         super(x, y, 8, 8); // Larger size for better visibility
+        reset(x, y, dx, dy, speed, damage, maxDistance);
+    }
+
+    // Re-initialises the projectile in place for a new shot (see ProjectilePool)
+    public void reset(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
+        this.x = x;
+        this.y = y;
         this.dx = dx;
         this.dy = dy;
         this.speed = speed;
@@ -20,6 +27,8 @@ public class Projectile extends Entity {
         this.maxDistance = maxDistance; // Can be float.MAX_VALUE for infinite
         this.active = true;
         this.distanceTraveled = 0;
+        this.previousX = x;
+        this.previousY = y;
 
         // Normalize direction
         float length = (float) Math.sqrt(dx * dx + dy * dy);
@@ -29,8 +38,11 @@ public class Projectile extends Entity {
         }
     }
 
+    // previousX/Y double as the start of the segment swept for collisions
     @Override
     public void update(float dt) {
+        previousX = x;
+        previousY = y;
         float moveX = dx * speed * dt;
         float moveY = dy * speed * dt;
 
@@ -48,12 +60,16 @@ public class Projectile extends Entity {
     public void render(Object g) {
         // Assuming g is Graphics2D (or wrapping it) - adapting to existing pattern
         if (g instanceof Graphics2D) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setColor(Color.RED);
-            g2d.fillOval((int) x, (int) y, width, height);
+            render((Graphics2D) g, 1f);
         }
     }
 
+    // Draws the projectile alpha of the way through its last move
+    public void render(Graphics2D g2d, float alpha) {
+        g2d.setColor(Color.RED);
+        g2d.fillOval((int) getRenderX(alpha), (int) getRenderY(alpha), width, height);
+    }
+
     public boolean isActive() {
         return active;
     }
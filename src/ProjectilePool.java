@@ -0,0 +1,141 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Pool of projectiles for one level. Live projectiles are packed into slots [0, live); the
+// instances after them are dead ones kept for reuse, so firing a shot re-initialises an old
+// Projectile in place instead of allocating one, and removing a shot swaps it with the last
+// live one instead of shifting the list.
+//
+// The pool starts with a fixed number of slots and doubles when every slot is live, up to
+// maxCapacity; past that, new shots are dropped rather than letting a runaway weapon grow the
+// pool without bound. Swap-removal does not keep firing order.
+public class ProjectilePool {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int DEFAULT_MAX_CAPACITY = 4096;
+
+    private Projectile[] items;
+    private final int maxCapacity;
+    private int live;
+    private int peak; // most projectiles live at once
+    private int allocated; // Projectile instances the pool has created
+    private int dropped; // shots refused because the pool was at maxCapacity
+    private final List<Projectile> list;
+
+    public ProjectilePool() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+    }
+
+    public ProjectilePool(int capacity, int maxCapacity) {
+        this.maxCapacity = Math.max(1, maxCapacity);
+        this.items = new Projectile[Math.min(Math.max(1, capacity), this.maxCapacity)];
+        this.list = new AbstractList<Projectile>() {
+            @Override
+            public Projectile get(int index) {
+                if (index < 0 || index >= live)
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + live);
+                return items[index];
+            }
+
+            @Override
+            public int size() {
+                return live;
+            }
+        };
+    }
+
+    // Fires a projectile from a recycled instance; null if the pool is full and cannot grow
+    public Projectile spawn(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
+        if (!reserve())
+            return null;
+        Projectile p = items[live];
+        if (p == null) {
+            p = new Projectile(x, y, dx, dy, speed, damage, maxDistance);
+            items[live] = p;
+            allocated++;
+        } else {
+            p.reset(x, y, dx, dy, speed, damage, maxDistance);
+        }
+        return items[live++];
+    }
+
+    // Takes a projectile built elsewhere; it is recycled like any other once it dies
+    public boolean add(Projectile p) {
+        if (!reserve())
+            return false;
+        // Keep the dead instance in this slot by parking it just past the new live one
+        Projectile spare = items[live];
+        items[live++] = p;
+        if (spare != null && live < items.length && items[live] == null) {
+            items[live] = spare;
+        }
+        return true;
+    }
+
+    // Swap-remove: the last live projectile moves into the slot
+    public void remove(int slot) {
+        int last = --live;
+        Projectile removed = items[slot];
+        items[slot] = items[last];
+        items[last] = removed;
+    }
+
+    // Removes every inactive projectile in one pass; returns how many
+    public int compact() {
+        int removed = 0;
+        // Walking backwards, the projectile swapped into a freed slot has already been checked
+        for (int i = live - 1; i >= 0; i--) {
+            if (!items[i].isActive()) {
+                remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void clear() {
+        live = 0;
+    }
+
+    public Projectile get(int slot) {
+        return items[slot];
+    }
+
+    // Read-only live view in slot order
+    public List<Projectile> asList() {
+        return list;
+    }
+
+    public int getLive() {
+        return live;
+    }
+
+    public int getPeak() {
+        return peak;
+    }
+
+    public int getAllocated() {
+        return allocated;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public int getCapacity() {
+        return items.length;
+    }
+
+    // Makes room for one more live projectile, growing if the policy allows
+    private boolean reserve() {
+        if (live == items.length) {
+            if (items.length >= maxCapacity) {
+                dropped++;
+                return false;
+            }
+            items = Arrays.copyOf(items, Math.min(items.length * 2, maxCapacity));
+        }
+        peak = Math.max(peak, live + 1);
+        return true;
+    }
+}
@@ -43,9 +43,8 @@ public class RangedWeapon extends Weapon {
             dirY /= length;
         }
 
-        // Create projectile
+        // Fire a pooled projectile
         // Infinite range so we use a large max distance
-        Projectile p = new Projectile(startX, startY, dirX, dirY, projectileSpeed, getDamage(), 2000f);
-        level.addProjectile(p);
+        level.spawnProjectile(startX, startY, dirX, dirY, projectileSpeed, getDamage(), 2000f);
     }
 }
@@ -18,6 +18,35 @@ public class Rectangle {
                this.y + this.height > other.y;
     }
 
+    // Fraction of the segment from (x0, y0) to (x1, y1) at which it enters the box (slab
+    // test): 0 if it starts inside, POSITIVE_INFINITY if it misses
+    public static float segmentEntry(float x0, float y0, float x1, float y1,
+            float minX, float minY, float maxX, float maxY) {
+        float enter = 0f;
+        float exit = 1f;
+        float dx = x1 - x0;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX)
+                return Float.POSITIVE_INFINITY;
+        } else {
+            float a = (minX - x0) / dx;
+            float b = (maxX - x0) / dx;
+            enter = Math.max(enter, Math.min(a, b));
+            exit = Math.min(exit, Math.max(a, b));
+        }
+        float dy = y1 - y0;
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY)
+                return Float.POSITIVE_INFINITY;
+        } else {
+            float a = (minY - y0) / dy;
+            float b = (maxY - y0) / dy;
+            enter = Math.max(enter, Math.min(a, b));
+            exit = Math.min(exit, Math.max(a, b));
+        }
+        return enter <= exit ? enter : Float.POSITIVE_INFINITY;
+    }
+
     public boolean contains(float px, float py) {
         return px >= x && px < x + width &&
                py >= y && py < y + height;
@@ -0,0 +1,34 @@
+import java.util.concurrent.atomic.AtomicReference;
+
+// Lock-free triple buffer handing FrameSnapshots from the simulation thread to the Swing
+// thread. The simulation fills its back snapshot and swaps it into the middle slot; the
+// renderer swaps the middle slot for its front snapshot whenever the middle one is newer.
+// Each side only ever touches the snapshot it holds, so neither waits for the other and the
+// renderer never sees a half-written frame. A frame the renderer didn't get to in time is
+// simply overwritten by the next one.
+public class SnapshotBuffer {
+    private final AtomicReference<FrameSnapshot> middle;
+    private FrameSnapshot back; // simulation thread only
+    private FrameSnapshot front; // Swing thread only
+    private long sequence;
+
+    public SnapshotBuffer() {
+        this.middle = new AtomicReference<>(new FrameSnapshot());
+        this.back = new FrameSnapshot();
+        this.front = new FrameSnapshot();
+    }
+
+    // Simulation thread: captures the game as it is now and makes it the latest frame
+    public void publish(Game game) {
+        back.capture(game, ++sequence);
+        back = middle.getAndSet(back);
+    }
+
+    // Swing thread: the latest published frame, or null if nothing has been published yet
+    public FrameSnapshot acquire() {
+        if (middle.get().sequence > front.sequence) {
+            front = middle.getAndSet(front);
+        }
+        return front.sequence > 0 ? front : null;
+    }
+}
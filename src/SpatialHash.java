@@ -0,0 +1,279 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Broad-phase index over entity bounds: space is cut into square cells and every entity is
+// linked into each cell its box overlaps, so a query only looks at the entities in the few
+// cells it covers instead of the whole list. Cells are hashed into a fixed bucket table
+// (unrelated cells can share a bucket; queries filter by bounds anyway), and everything is
+// kept in flat arrays reused from tick to tick, so clear() + insert() each frame allocates
+// nothing once the arrays have grown.
+//
+// Bounds are captured at insert time, and there is no cheap way to move one entity, so the
+// owner refreshes the whole hash once per tick after movement.
+public class SpatialHash<T extends Entity> implements SpatialIndex<T> {
+    private static final int DEFAULT_CELL_SIZE = 64;
+    private static final int DEFAULT_BUCKETS = 4096;
+
+    private final int cellSize;
+    private final int bucketMask;
+    private final int[] bucketHead; // first link of the bucket, valid only if the stamp matches
+    private final int[] bucketStamp;
+    private int stamp;
+
+    private Object[] items;
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private int[] lastQuery; // query stamp that last reported the item, to skip duplicates
+    private int itemCount;
+    private int removedCount;
+    private int queryStamp;
+
+    private int[] linkItem;
+    private int[] linkNext;
+    private int linkCount;
+
+    public SpatialHash() {
+        this(DEFAULT_CELL_SIZE, DEFAULT_BUCKETS);
+    }
+
+    // bucketCount is rounded up to a power of two
+    public SpatialHash(int cellSize, int bucketCount) {
+        this.cellSize = Math.max(1, cellSize);
+        int buckets = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+        this.bucketMask = buckets - 1;
+        this.bucketHead = new int[buckets];
+        this.bucketStamp = new int[buckets];
+        this.stamp = 1;
+        this.items = new Object[64];
+        this.minX = new float[64];
+        this.minY = new float[64];
+        this.maxX = new float[64];
+        this.maxY = new float[64];
+        this.lastQuery = new int[64];
+        this.linkItem = new int[128];
+        this.linkNext = new int[128];
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(items, 0, itemCount, null);
+        itemCount = 0;
+        removedCount = 0;
+        linkCount = 0;
+        if (++stamp == 0) {
+            Arrays.fill(bucketStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    // Rebuilt from scratch: clear() followed by insert() of every entity in the list
+    @Override
+    public void refresh(List<? extends T> entities) {
+        clear();
+        for (int i = 0; i < entities.size(); i++) {
+            insert(entities.get(i));
+        }
+    }
+
+    @Override
+    public void insert(T entity) {
+        if (itemCount == items.length) {
+            growItems();
+        }
+        int item = itemCount++;
+        float left = entity.getX();
+        float top = entity.getY();
+        float right = left + entity.getWidth();
+        float bottom = top + entity.getHeight();
+        items[item] = entity;
+        minX[item] = left;
+        minY[item] = top;
+        maxX[item] = right;
+        maxY[item] = bottom;
+        lastQuery[item] = queryStamp;
+
+        int cellMaxX = cell(right);
+        int cellMaxY = cell(bottom);
+        for (int cy = cell(top); cy <= cellMaxY; cy++) {
+            for (int cx = cell(left); cx <= cellMaxX; cx++) {
+                link(bucket(cx, cy), item);
+            }
+        }
+    }
+
+    // Linear scan; the slot is left empty until the next refresh
+    @Override
+    public void remove(T entity) {
+        for (int item = 0; item < itemCount; item++) {
+            if (items[item] == entity) {
+                items[item] = null;
+                removedCount++;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void queryAABB(float left, float top, float right, float bottom, List<? super T> out) {
+        int query = nextQuery();
+        int cellMaxX = cell(right);
+        int cellMaxY = cell(bottom);
+        for (int cy = cell(top); cy <= cellMaxY; cy++) {
+            for (int cx = cell(left); cx <= cellMaxX; cx++) {
+                int b = bucket(cx, cy);
+                if (bucketStamp[b] != stamp)
+                    continue;
+                for (int link = bucketHead[b]; link >= 0; link = linkNext[link]) {
+                    int item = linkItem[link];
+                    if (lastQuery[item] == query || items[item] == null)
+                        continue;
+                    if (minX[item] <= right && maxX[item] >= left && minY[item] <= bottom && maxY[item] >= top) {
+                        lastQuery[item] = query;
+                        out.add(get(item));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void queryRadius(float centerX, float centerY, float radius, List<? super T> out) {
+        int query = nextQuery();
+        float radiusSq = radius * radius;
+        int cellMaxX = cell(centerX + radius);
+        int cellMaxY = cell(centerY + radius);
+        for (int cy = cell(centerY - radius); cy <= cellMaxY; cy++) {
+            for (int cx = cell(centerX - radius); cx <= cellMaxX; cx++) {
+                int b = bucket(cx, cy);
+                if (bucketStamp[b] != stamp)
+                    continue;
+                for (int link = bucketHead[b]; link >= 0; link = linkNext[link]) {
+                    int item = linkItem[link];
+                    if (lastQuery[item] == query || items[item] == null)
+                        continue;
+                    // Distance from the centre to the closest point of the box
+                    float dx = Math.max(minX[item] - centerX, Math.max(0, centerX - maxX[item]));
+                    float dy = Math.max(minY[item] - centerY, Math.max(0, centerY - maxY[item]));
+                    if (dx * dx + dy * dy <= radiusSq) {
+                        lastQuery[item] = query;
+                        out.add(get(item));
+                    }
+                }
+            }
+        }
+    }
+
+    // Walks the hash cells along the segment (grid DDA), so the cost follows the number of
+    // cells crossed rather than the area of the segment's bounding box
+    @Override
+    public void querySegment(float x0, float y0, float x1, float y1, float pad, List<? super T> out) {
+        int query = nextQuery();
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        int cellX = cell(x0);
+        int cellY = cell(y0);
+        float deltaX = dx != 0 ? Math.abs(cellSize / dx) : Float.POSITIVE_INFINITY;
+        float deltaY = dy != 0 ? Math.abs(cellSize / dy) : Float.POSITIVE_INFINITY;
+        float nextX = dx > 0 ? ((cellX + 1) * cellSize - x0) / dx
+                : dx < 0 ? (cellX * cellSize - x0) / dx : Float.POSITIVE_INFINITY;
+        float nextY = dy > 0 ? ((cellY + 1) * cellSize - y0) / dy
+                : dy < 0 ? (cellY * cellSize - y0) / dy : Float.POSITIVE_INFINITY;
+
+        int steps = Math.abs(cell(x1) - cellX) + Math.abs(cell(y1) - cellY);
+        float enter = 0f;
+        while (true) {
+            // The piece of the segment inside this cell, grown by pad, may reach into neighbours
+            float leave = Math.min(1f, Math.min(nextX, nextY));
+            float ax = x0 + dx * enter;
+            float ay = y0 + dy * enter;
+            float bx = x0 + dx * leave;
+            float by = y0 + dy * leave;
+            int maxCellX = cell(Math.max(ax, bx) + pad);
+            int maxCellY = cell(Math.max(ay, by) + pad);
+            for (int cy = cell(Math.min(ay, by) - pad); cy <= maxCellY; cy++) {
+                for (int cx = cell(Math.min(ax, bx) - pad); cx <= maxCellX; cx++) {
+                    collectAlongSegment(bucket(cx, cy), query, x0, y0, x1, y1, pad, out);
+                }
+            }
+
+            if (steps-- <= 0)
+                break;
+            if (nextX < nextY) {
+                enter = nextX;
+                nextX += deltaX;
+            } else {
+                enter = nextY;
+                nextY += deltaY;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return itemCount - removedCount;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int item) {
+        return (T) items[item];
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int bucket(int cellX, int cellY) {
+        return ((cellX * 73856093) ^ (cellY * 19349663)) & bucketMask;
+    }
+
+    private void link(int b, int item) {
+        if (linkCount == linkItem.length) {
+            linkItem = Arrays.copyOf(linkItem, linkCount * 2);
+            linkNext = Arrays.copyOf(linkNext, linkCount * 2);
+        }
+        linkItem[linkCount] = item;
+        linkNext[linkCount] = bucketStamp[b] == stamp ? bucketHead[b] : -1;
+        bucketHead[b] = linkCount++;
+        bucketStamp[b] = stamp;
+    }
+
+    private void collectAlongSegment(int b, int query, float x0, float y0, float x1, float y1, float pad,
+            List<? super T> out) {
+        if (bucketStamp[b] != stamp)
+            return;
+        for (int link = bucketHead[b]; link >= 0; link = linkNext[link]) {
+            int item = linkItem[link];
+            if (lastQuery[item] == query || items[item] == null)
+                continue;
+            lastQuery[item] = query;
+            if (Rectangle.segmentEntry(x0, y0, x1, y1, minX[item] - pad, minY[item] - pad,
+                    maxX[item] + pad, maxY[item] + pad) <= 1f) {
+                out.add(get(item));
+            }
+        }
+    }
+
+    private int nextQuery() {
+        if (++queryStamp == 0) {
+            Arrays.fill(lastQuery, 0);
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+
+    private void growItems() {
+        int capacity = items.length * 2;
+        items = Arrays.copyOf(items, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        lastQuery = Arrays.copyOf(lastQuery, capacity);
+    }
+}
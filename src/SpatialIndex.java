@@ -0,0 +1,26 @@
+import java.util.List;
+
+// Broad-phase index over entity bounds (SpatialHash, LooseQuadtree). Queries add each matching
+// entity to out at most once, tested against the bounds the index last saw; callers still do
+// their exact test against the live bounds.
+public interface SpatialIndex<T extends Entity> {
+    void insert(T entity);
+
+    void remove(T entity);
+
+    // Brings the index in line with the list: current positions, nothing else indexed
+    void refresh(List<? extends T> entities);
+
+    void clear();
+
+    void queryAABB(float left, float top, float right, float bottom, List<? super T> out);
+
+    // Entities whose box comes within radius of the point
+    void queryRadius(float centerX, float centerY, float radius, List<? super T> out);
+
+    // Entities whose box, grown by pad on each side, the segment (a ray cut at its end point)
+    // touches
+    void querySegment(float x0, float y0, float x1, float y1, float pad, List<? super T> out);
+
+    int size();
+}
@@ -15,6 +15,7 @@ public class TileMap {
     private int cols;
     private String[][] tiles;
     private Map<String, BufferedImage> tileImages;
+    private CollisionGrid collisionGrid;
 
     public TileMap(int tileSize) {
         this.tileSize = tileSize;
@@ -43,6 +44,7 @@ public class TileMap {
                 loadTileImage(name);
             }
         }
+        collisionGrid = buildCollisionGrid();
     }
 
     private void loadTileImage(String name) {
@@ -87,16 +89,20 @@ public class TileMap {
         }
     }
 
-    public int[][] getCollisionGrid() {
-        if (tiles == null) return new int[0][0];
-        int[][] grid = new int[rows][cols];
+    // Built once per loadMap; callers that need to edit it should copy it first
+    public CollisionGrid getCollisionGrid() {
+        if (collisionGrid == null) return new CollisionGrid(0, 0);
+        return collisionGrid;
+    }
+
+    private CollisionGrid buildCollisionGrid() {
+        CollisionGrid grid = new CollisionGrid(cols, rows);
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
                 String name = tiles[r][c];
-                if (name == null) { grid[r][c] = 0; continue; }
+                if (name == null) continue;
                 String lower = name.toLowerCase();
-                if (lower.equals("water") || lower.equals("lava")) grid[r][c] = 1;
-                else grid[r][c] = 0;
+                if (lower.equals("water") || lower.equals("lava")) grid.setBlocked(c, r, true);
             }
         }
         return grid;
@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.List;
 
 public class Weapon {
@@ -7,6 +8,7 @@ public class Weapon {
     private String type; // "melee" or "ranged"
     private String ammoType; // Type of ammo (null for melee)
     private float range; // Attack range in pixels
+    private final List<Zombie> nearby = new ArrayList<>(); // Scratch list for melee queries
 
     public Weapon(String name, int damage, float cooldown, String type) {
         this.name = name;
@@ -40,10 +42,11 @@ public class Weapon {
             // In Player.java attack(), it calls currentWeapon.attack(this, null).
             // MeleeWeapon needs to find targets if target is null.
             if (level != null) {
-                // Simple melee area check
+                // Simple melee area check against the zombies within reach
                 float reach = 50;
-                // Ideally we check all zombies.
-                for (Zombie z : level.getZombies()) {
+                nearby.clear();
+                level.getZombieIndex().queryRadius(origin.getX(), origin.getY(), reach, nearby);
+                for (Zombie z : nearby) {
                     float dx = origin.getX() - z.getX();
                     float dy = origin.getY() - z.getY();
                     float dist = (float) Math.sqrt(dx * dx + dy * dy);
@@ -1,101 +1,196 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.awt.Point;
 
 public class Zombie extends Character {
     protected float speed;
     protected int attackDamage;
-    protected List<Point> path; // Path for pathfinding (Points)
+    protected List<Point> path; // Path for pathfinding (Points), may be shared via PathCache - never mutate
     protected int pathIndex; // Current index in the path
-    protected String state; // idle, moving, attacking
     protected float attackCooldown;
-    protected float attackTimer;
     protected float detectionRange;
     protected Player targetPlayer;
+    protected Level level;
     private Pathfinder pathfinder;
-    private float pathfindingTimer; // Timer for periodic pathfinding
+    private HierarchicalPath hierarchicalPath; // Remaining legs when planning with HPA*
+    private DStarLitePlanner planner; // Kept between replans in INCREMENTAL pathing mode
+    private boolean pathPending; // Waiting for an asynchronous or time-sliced path request
     private static final float PATHFINDING_UPDATE_INTERVAL = 0.5f; // Update path every 0.5 seconds
     private static final int TILE_SIZE = 32; // Tile size in pixels
+    private static final ZombieStateMachine STATES = ZombieStateMachine.standard();
 
-    protected graphics.Animation idleAnim;
-    protected graphics.Animation moveAnim;
-    protected graphics.Animation attackAnim;
-    protected graphics.Animation hurtAnim;
-    protected graphics.Animation deadAnim;
+    // Shared clips (see ResourceManager.getClip); the playhead is the store's animationTime
+    protected graphics.AnimationClip idleAnim;
+    protected graphics.AnimationClip moveAnim;
+    protected graphics.AnimationClip attackAnim;
+    protected graphics.AnimationClip hurtAnim;
+    protected graphics.AnimationClip deadAnim;
+
+    // Position, velocity, hp, state, timers and animation live in a ZombieStore slot; this
+    // object is a view of it (see ZombieStore)
+    ZombieStore store;
+    int slot;
+    final ZombieStore home; // holds the slot while the zombie is in no other store
+
+    // Where steer() records its effects on anything but this zombie while ZombieAiPhase runs
+    // it on a worker thread; null when they are applied on the spot
+    ZombieEffects effects;
 
     public Zombie(float x, float y, int width, int height, int maxHp, float speed, int attackDamage) {
         super(x, y, width, height, maxHp);
+        this.home = new ZombieStore(1);
+        this.store = home;
+        this.slot = store.attach(this);
+        store.x[slot] = x;
+        store.y[slot] = y;
+        store.previousX[slot] = x;
+        store.previousY[slot] = y;
+        store.width[slot] = width;
+        store.height[slot] = height;
+        store.hp[slot] = maxHp;
+        store.maxHp[slot] = maxHp;
+        store.alive[slot] = true;
+        store.facingRight[slot] = true;
+        store.state[slot] = ZombieStateMachine.IDLE;
+        store.animation[slot] = ZombieStore.NO_ANIMATION;
         this.speed = speed;
         this.attackDamage = attackDamage;
-        this.state = "idle";
-        this.path = new ArrayList<>();
+        this.path = Collections.emptyList();
         this.pathIndex = 0;
         this.pathfinder = new Pathfinder();
         this.attackCooldown = 1.0f;
-        this.attackTimer = 0;
         this.detectionRange = 500; // pixels
-        this.pathfindingTimer = 0;
 
         loadAnimations();
     }
 
+    void bind(ZombieStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
     protected void loadAnimations() {
         // Use 0 as frameCount to auto-detect based on square frames (width/height)
 
         // Idle Animation (User: 768x128 => 6 frames)
-        idleAnim = loadAnimationFromStrip("assets/skins/zombie/Idle.png", 0, 200);
+        idleAnim = loadClipFromStrip("assets/skins/zombie/Idle.png", 0, 200, true);
 
         // Move Animation (Auto-detect frames)
-        moveAnim = loadAnimationFromStrip("assets/skins/zombie/Walk.png", 0, 150);
+        moveAnim = loadClipFromStrip("assets/skins/zombie/Walk.png", 0, 150, true);
 
         // Attack Animation (Auto-detect frames)
-        attackAnim = loadAnimationFromStrip("assets/skins/zombie/Attack.png", 0, 150);
+        attackAnim = loadClipFromStrip("assets/skins/zombie/Attack.png", 0, 150, true);
 
         // Hurt Animation
-        hurtAnim = loadAnimationFromStrip("assets/skins/zombie/Hurt.png", 0, 100);
-        if (hurtAnim != null) {
-            hurtAnim.setLooping(false);
-        }
+        hurtAnim = loadClipFromStrip("assets/skins/zombie/Hurt.png", 0, 100, false);
 
         // Death Animation
-        deadAnim = loadAnimationFromStrip("assets/skins/zombie/Dead.png", 0, 100);
-        if (deadAnim != null) {
-            deadAnim.setLooping(false);
-        }
+        deadAnim = loadClipFromStrip("assets/skins/zombie/Dead.png", 0, 100, false);
 
-        // Initial animation
+        playInitialAnimation();
+    }
+
+    protected void playInitialAnimation() {
+        store.animationTime[slot] = 0;
         if (idleAnim != null) {
-            currentAnimation = idleAnim;
+            play(ZombieStore.ANIM_IDLE);
         } else if (moveAnim != null) {
-            currentAnimation = moveAnim;
+            play(ZombieStore.ANIM_MOVE);
+        } else {
+            play(ZombieStore.NO_ANIMATION);
         }
     }
 
+    // Re-initialises the zombie for a new spawn as if freshly constructed, keeping its loaded
+    // animations, size and pathfinder (see ZombiePool)
+    public void reset(float x, float y, int maxHp, float speed, int attackDamage) {
+        store.x[slot] = x;
+        store.y[slot] = y;
+        store.previousX[slot] = x;
+        store.previousY[slot] = y;
+        store.velocityX[slot] = 0;
+        store.velocityY[slot] = 0;
+        store.hp[slot] = maxHp;
+        store.maxHp[slot] = maxHp;
+        store.alive[slot] = true;
+        store.facingRight[slot] = true;
+        store.state[slot] = ZombieStateMachine.IDLE;
+        store.attackTimer[slot] = 0;
+        store.pathfindingTimer[slot] = 0;
+        this.speed = speed;
+        this.attackDamage = attackDamage;
+        this.targetPlayer = null;
+        releasePathState();
+
+        playInitialAnimation();
+    }
+
     public void updateAI(Player player, Environment environment, float dt) {
-        if (!alive)
-            return;
+        planPath(player, environment, dt);
+        steer(player, environment, dt);
+    }
 
-        this.targetPlayer = player;
-        float distanceToPlayer = (float) Math.sqrt(
-                Math.pow(player.getX() - x, 2) + Math.pow(player.getY() - y, 2));
+    // First half of the AI: refreshes this zombie's path. It goes through the level's shared
+    // pathfinding services, so ZombieAiPhase runs it for one zombie at a time.
+    public void planPath(Player player, Environment environment, float dt) {
+        if (!isAlive())
+            return;
 
         // Update pathfinding timer
-        pathfindingTimer -= dt;
+        store.pathfindingTimer[slot] -= dt;
+
+        // Steering reads the next tile from the flow field when there is one
+        if (level != null && level.getFlowField() != null)
+            return;
+        if (distanceTo(player) >= detectionRange)
+            return;
+
+        // If path is empty or needs updating, compute a new path. A request that is still
+        // pending (possibly for several ticks) isn't resubmitted; the old path, if any, is
+        // followed until the new one arrives
+        if (!pathPending && (path.isEmpty() || store.pathfindingTimer[slot] <= 0
+                || (planner != null && planner.needsReplan()))) {
+            computePath(player, environment);
+            store.pathfindingTimer[slot] = PATHFINDING_UPDATE_INTERVAL;
+        }
+    }
+
+    // Second half of the AI: picks this tick's velocity and state from the path. It writes
+    // only this zombie's slot and otherwise just reads the player and the map, so
+    // ZombieAiPhase runs it in parallel; attacks and the like go through the effects buffer.
+    public void steer(Player player, Environment environment, float dt) {
+        if (!isAlive())
+            return;
+
+        this.targetPlayer = player;
+        float x = getX();
+        float y = getY();
+        float distanceToPlayer = distanceTo(player);
 
         // Check if player is in range
         if (distanceToPlayer < detectionRange) {
-            // If path is empty or needs updating, compute a new path
-            if (path.isEmpty() || pathfindingTimer <= 0) {
-                computePath(player, environment);
-                pathfindingTimer = PATHFINDING_UPDATE_INTERVAL;
-                pathIndex = 0;
+            // Pick the next tile to walk to: from the level's shared flow field when there is
+            // one, otherwise from this zombie's own path
+            FlowField flowField = (level != null) ? level.getFlowField() : null;
+            int nextTileX = -1;
+            int nextTileY = -1;
+            if (flowField != null) {
+                int next = flowField.getNextStep((int) (x / TILE_SIZE), (int) (y / TILE_SIZE));
+                if (next >= 0) {
+                    nextTileX = next % flowField.getMapWidth();
+                    nextTileY = next / flowField.getMapWidth();
+                }
+            } else if (!path.isEmpty() && pathIndex < path.size()) {
+                Point nextNode = path.get(pathIndex);
+                nextTileX = nextNode.x;
+                nextTileY = nextNode.y;
             }
 
             // Follow the path
-            if (!path.isEmpty() && pathIndex < path.size()) {
-                Point nextNode = path.get(pathIndex);
-                float nextX = nextNode.x * TILE_SIZE + TILE_SIZE / 2;
-                float nextY = nextNode.y * TILE_SIZE + TILE_SIZE / 2;
+            if (nextTileX >= 0) {
+                float nextX = nextTileX * TILE_SIZE + TILE_SIZE / 2;
+                float nextY = nextTileY * TILE_SIZE + TILE_SIZE / 2;
 
                 float dirX = nextX - x;
                 float dirY = nextY - y;
@@ -103,10 +198,24 @@ public class Zombie extends Character {
 
                 // If reached the node, move to the next one
                 if (distance < 10) {
-                    pathIndex++;
-                    if (pathIndex >= path.size()) {
-                        pathIndex = 0;
-                        state = "idle";
+                    if (flowField != null) {
+                        // Only happens on the goal tile; the flow field has no further step
+                        fire(ZombieStateMachine.STOP);
+                    } else {
+                        pathIndex++;
+                        if (pathIndex >= path.size()) {
+                            pathIndex = 0;
+                            if (hierarchicalPath != null && hierarchicalPath.hasNextSegment()) {
+                                // Refine the next HPA* leg only now that we've reached it
+                                if (effects != null) {
+                                    effects.record(ZombieEffects.NEXT_SEGMENT, this);
+                                } else {
+                                    nextSegment();
+                                }
+                            } else {
+                                fire(ZombieStateMachine.STOP);
+                            }
+                        }
                     }
                 } else if (distance > 0) {
                     float vx = (dirX / distance) * speed;
@@ -118,84 +227,162 @@ public class Zombie extends Character {
                     boolean canMoveDiag = environment.isWalkable(nextPosX, nextPosY);
 
                     if (canMoveDiag) {
-                        velocityX = vx;
-                        velocityY = vy;
-                        state = "moving";
+                        setVelocityX(vx);
+                        setVelocityY(vy);
+                        fire(ZombieStateMachine.MOVE);
                         if (vx > 0)
-                            facingRight = true;
+                            setFacingRight(true);
                         if (vx < 0)
-                            facingRight = false;
+                            setFacingRight(false);
                     } else {
                         // Try moving only in X or only in Y as fallback
                         boolean canMoveX = environment.isWalkable(x + vx * dt, y);
                         boolean canMoveY = environment.isWalkable(x, y + vy * dt);
                         if (canMoveX) {
-                            velocityX = vx;
-                            velocityY = 0;
-                            state = "moving";
+                            setVelocityX(vx);
+                            setVelocityY(0);
+                            fire(ZombieStateMachine.MOVE);
                             if (vx > 0)
-                                facingRight = true;
+                                setFacingRight(true);
                             if (vx < 0)
-                                facingRight = false;
+                                setFacingRight(false);
                         } else if (canMoveY) {
-                            velocityX = 0;
-                            velocityY = vy;
-                            state = "moving";
+                            setVelocityX(0);
+                            setVelocityY(vy);
+                            fire(ZombieStateMachine.MOVE);
                         } else {
                             // Stuck, clear path and try again
-                            path.clear();
+                            path = Collections.emptyList();
+                            hierarchicalPath = null;
                             pathIndex = 0;
-                            velocityX = 0;
-                            velocityY = 0;
-                            state = "idle";
+                            setVelocityX(0);
+                            setVelocityY(0);
+                            fire(ZombieStateMachine.STOP);
                         }
                     }
                 }
 
                 // Check if in attack range
                 if (distanceToPlayer < 50) {
-                    state = "attacking";
-                    velocityX = 0;
-                    velocityY = 0;
+                    fire(ZombieStateMachine.REACH);
+                    setVelocityX(0);
+                    setVelocityY(0);
                     // Face player when attacking
                     if (player.getX() > x)
-                        facingRight = true;
+                        setFacingRight(true);
                     if (player.getX() < x)
-                        facingRight = false;
+                        setFacingRight(false);
 
-                    if (attackTimer <= 0) {
-                        attack(player);
-                        attackTimer = attackCooldown;
+                    if (store.attackTimer[slot] <= 0) {
+                        strike(player);
+                        store.attackTimer[slot] = attackCooldown;
                     }
                 }
             } else {
-                state = "idle";
-                velocityX = 0;
-                velocityY = 0;
+                fire(ZombieStateMachine.STOP);
+                setVelocityX(0);
+                setVelocityY(0);
             }
         } else {
-            state = "idle";
-            velocityX = 0;
-            velocityY = 0;
-            path.clear();
+            fire(ZombieStateMachine.STOP);
+            setVelocityX(0);
+            setVelocityY(0);
+            path = Collections.emptyList();
+            hierarchicalPath = null;
             pathIndex = 0;
         }
     }
 
+    protected float distanceTo(Player player) {
+        return (float) Math.sqrt(Math.pow(player.getX() - getX(), 2) + Math.pow(player.getY() - getY(), 2));
+    }
+
+    // Switches to the next leg of a hierarchical path; refining it searches the level's shared
+    // HierarchicalPathfinder
+    void nextSegment() {
+        path = hierarchicalPath.nextSegment();
+    }
+
     private void computePath(Player player, Environment environment) {
-        int[][] collisionMap = environment.getCollisionTiles();
-        if (collisionMap == null)
+        CollisionGrid collisionGrid = environment.getCollisionGrid();
+        if (collisionGrid == null)
             return;
 
-        Point start = new Point((int) (x / TILE_SIZE), (int) (y / TILE_SIZE));
+        Point start = new Point((int) (getX() / TILE_SIZE), (int) (getY() / TILE_SIZE));
         Point goal = new Point((int) (player.getX() / TILE_SIZE), (int) (player.getY() / TILE_SIZE));
 
-        path = pathfinder.findPath(start, goal, collisionMap);
+        if (level != null && level.getPathingMode() == Level.PathingMode.INCREMENTAL) {
+            if (planner == null) {
+                planner = new DStarLitePlanner(environment);
+                environment.addCollisionListener(planner);
+            }
+            hierarchicalPath = null;
+            pathIndex = 0;
+            path = planner.plan(start, goal);
+            return;
+        }
+
+        HierarchicalPathfinder hierarchical = (level != null) ? level.getHierarchicalPathfinder() : null;
+        PathRequestService service = (level != null) ? level.getPathRequestService() : null;
+        if (hierarchical == null && service != null) {
+            service.submit(this, start, goal, environment);
+            pathPending = true;
+            return;
+        }
+        PathScheduler scheduler = (level != null) ? level.getPathScheduler() : null;
+        if (hierarchical == null && scheduler != null) {
+            scheduler.submit(this, start, goal, player);
+            pathPending = true;
+            return;
+        }
+
+        hierarchicalPath = null;
+        pathIndex = 0;
+        if (hierarchical != null) {
+            hierarchicalPath = hierarchical.findPath(start, goal);
+            if (hierarchicalPath == null) {
+                path = Collections.emptyList();
+            } else if (hierarchicalPath.hasNextSegment()) {
+                path = hierarchicalPath.nextSegment();
+            } else {
+                // Already on the goal tile
+                path = Collections.singletonList(hierarchicalPath.getWaypoint(0));
+            }
+        } else if (level != null) {
+            path = level.getPathCache().findPath(start, goal, environment);
+        } else {
+            path = pathfinder.findPath(start, goal, collisionGrid);
+        }
+    }
+
+    // Delivery point for PathRequestService and PathScheduler results
+    public void onPathComputed(List<Point> newPath) {
+        // A result for a request made before the zombie was recycled
+        if (!pathPending)
+            return;
+        path = newPath;
+        pathIndex = 0;
+        hierarchicalPath = null;
+        pathPending = false;
+
+        // The zombie kept moving while the request was pending; pick up from the tile it is
+        // on now instead of walking back to where it asked from (with corner-only paths that
+        // tile is usually not a waypoint, so head for the first waypoint after the start)
+        int tileX = (int) (getX() / TILE_SIZE);
+        int tileY = (int) (getY() / TILE_SIZE);
+        pathIndex = Math.min(1, Math.max(0, newPath.size() - 1));
+        for (int i = 0; i < newPath.size(); i++) {
+            Point node = newPath.get(i);
+            if (node.x == tileX && node.y == tileY) {
+                pathIndex = i;
+                break;
+            }
+        }
     }
 
     public String findPathTo(float targetX, float targetY) {
         // Helper method to compute path to arbitrary target
-        Point start = new Point((int) (x / TILE_SIZE), (int) (y / TILE_SIZE));
+        Point start = new Point((int) (getX() / TILE_SIZE), (int) (getY() / TILE_SIZE));
         Point goal = new Point((int) (targetX / TILE_SIZE), (int) (targetY / TILE_SIZE));
         // Note: This would require access to environment's collision map
         // For now, just return empty string as the main pathfinding uses computePath
@@ -208,43 +395,69 @@ public class Zombie extends Character {
         }
     }
 
+    // attack(), or recorded for the end of the AI phase while steering in parallel
+    protected void strike(Player player) {
+        if (effects != null) {
+            effects.record(ZombieEffects.ATTACK, this);
+        } else {
+            attack(player);
+        }
+    }
+
     @Override
     public void takeDamage(int damage) {
-        if (!alive)
+        if (!isAlive())
             return;
 
-        hp -= damage;
+        store.hp[slot] -= damage;
 
-        // Trigger Hurt Animation
-        if (hurtAnim != null) {
-            currentAnimation = hurtAnim;
-            currentAnimation.reset();
-        }
-
-        if (hp <= 0) {
+        if (store.hp[slot] <= 0) {
             die();
+        } else if (store.state[slot] == ZombieStateMachine.HURT) {
+            // Hit again while flinching: flinch from the start
+            if (hurtAnim != null)
+                restart(ZombieStore.ANIM_HURT);
+        } else {
+            fire(ZombieStateMachine.DAMAGE);
         }
     }
 
     public void die() {
-        alive = false;
-        state = "dead";
-        velocityX = 0;
-        velocityY = 0;
-
-        // Trigger Death Animation
-        if (deadAnim != null) {
-            currentAnimation = deadAnim;
-            currentAnimation.reset();
+        store.alive[slot] = false;
+        fire(ZombieStateMachine.KILL);
+        setVelocityX(0);
+        setVelocityY(0);
+
+        if (planner != null) {
+            planner.dispose();
+            planner = null;
+        }
+    }
+
+    // Drops the path and anything planning it: unregisters the D* Lite planner from the map's
+    // collision listeners and ignores a path request still in flight. Call when the zombie
+    // leaves its level.
+    public void releasePathState() {
+        path = Collections.emptyList();
+        pathIndex = 0;
+        hierarchicalPath = null;
+        pathPending = false;
+        if (planner != null) {
+            planner.dispose();
+            planner = null;
         }
     }
 
     public boolean isDeathAnimationFinished() {
-        if (!state.equals("dead"))
+        if (store.state[slot] != ZombieStateMachine.DEAD)
             return false;
         if (deadAnim == null)
             return true;
-        return deadAnim.isFinished();
+        return deadAnim.isFinishedAt(store.animationTime[slot]);
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
     }
 
     public float getSpeed() {
@@ -273,11 +486,58 @@ public class Zombie extends Character {
     }
 
     public String getState() {
-        return state;
+        return ZombieStateMachine.stateName(store.state[slot]);
     }
 
+    // Sets the state outright, bypassing the table and the enter/exit hooks
     public void setState(String state) {
-        this.state = state;
+        store.state[slot] = ZombieStateMachine.stateCode(state);
+    }
+
+    public byte getStateCode() {
+        return store.state[slot];
+    }
+
+    // The transition table for this kind of zombie; shared, along with its counters
+    public ZombieStateMachine getStateMachine() {
+        return STATES;
+    }
+
+    // Applies an AI event: moves to whichever state the table says it leads to, running the
+    // exit and enter hooks, or does nothing if the table ignores it in the current state
+    protected void fire(byte event) {
+        byte from = store.state[slot];
+        ZombieStateMachine machine = getStateMachine();
+        byte to = machine.next(from, event);
+        if (to == ZombieStateMachine.NONE || to == from)
+            return;
+        onExitState(from, to);
+        store.state[slot] = to;
+        if (effects != null) {
+            effects.recordTransition(this, from, to);
+        } else {
+            machine.recordTransition(from, to);
+        }
+        onEnterState(to, from);
+    }
+
+    protected void onEnterState(byte state, byte from) {
+        switch (state) {
+            case ZombieStateMachine.HURT:
+                if (hurtAnim != null)
+                    restart(ZombieStore.ANIM_HURT);
+                break;
+            case ZombieStateMachine.DEAD:
+                if (deadAnim != null)
+                    restart(ZombieStore.ANIM_DEAD);
+                break;
+            default:
+                break;
+        }
+    }
+
+    protected void onExitState(byte state, byte to) {
+        // Nothing to clean up for the standard states
     }
 
     public float getDetectionRange() {
@@ -290,37 +550,77 @@ public class Zombie extends Character {
 
     @Override
     public void update(float dt) {
-        // Stop movement if dead
-        if (!alive) {
-            velocityX = 0;
-            velocityY = 0;
-        }
-
-        // Update position based on velocity
-        x += velocityX * dt;
-        y += velocityY * dt;
-
-        // Update attack timer
-        attackTimer -= dt;
+        store.integrate(slot, dt);
+        animate(dt);
+    }
 
-        // Update Animation State
-        boolean isHurting = (currentAnimation == hurtAnim && hurtAnim != null && !hurtAnim.isFinished());
-        boolean isDying = (currentAnimation == deadAnim && deadAnim != null && !deadAnim.isFinished());
+    // Picks and advances the animation for the current state; movement itself is done by
+    // ZombieStore.integrate (Level runs it for the whole store in one pass)
+    public void animate(float dt) {
+        byte state = store.state[slot];
+        getStateMachine().recordTime(state, dt);
+
+        // A flinch lasts as long as the hurt animation
+        if (state == ZombieStateMachine.HURT
+                && (hurtAnim == null || hurtAnim.isFinishedAt(store.animationTime[slot]))) {
+            fire(ZombieStateMachine.RECOVER);
+            state = store.state[slot];
+        }
 
-        if (!isHurting && !isDying) {
-            if (state.equals("attacking")) {
+        switch (state) {
+            case ZombieStateMachine.ATTACK:
                 if (attackAnim != null)
-                    currentAnimation = attackAnim;
-            } else if (state.equals("moving") || velocityX != 0 || velocityY != 0) {
+                    play(ZombieStore.ANIM_ATTACK);
+                break;
+            case ZombieStateMachine.CHASE:
                 if (moveAnim != null)
-                    currentAnimation = moveAnim;
-            } else {
-                if (idleAnim != null)
-                    currentAnimation = idleAnim;
-            }
+                    play(ZombieStore.ANIM_MOVE);
+                break;
+            case ZombieStateMachine.IDLE:
+                if (moveAnim != null && (store.velocityX[slot] != 0 || store.velocityY[slot] != 0)) {
+                    play(ZombieStore.ANIM_MOVE);
+                } else if (idleAnim != null) {
+                    play(ZombieStore.ANIM_IDLE);
+                }
+                break;
+            default:
+                // HURT and DEAD started their animations on entry
+                break;
+        }
+
+        graphics.AnimationClip clip = animationAt(store.animation[slot]);
+        if (clip != null) {
+            store.animationTime[slot] = clip.advance(store.animationTime[slot], dt);
+        }
+    }
+
+    // Switches animation, starting the new one from its first frame; no-op if already playing
+    protected void play(byte animation) {
+        if (store.animation[slot] != animation) {
+            restart(animation);
         }
+    }
+
+    protected void restart(byte animation) {
+        store.animation[slot] = animation;
+        store.animationTime[slot] = 0;
+    }
 
-        super.update(dt);
+    protected graphics.AnimationClip animationAt(byte animation) {
+        switch (animation) {
+            case ZombieStore.ANIM_IDLE:
+                return idleAnim;
+            case ZombieStore.ANIM_MOVE:
+                return moveAnim;
+            case ZombieStore.ANIM_ATTACK:
+                return attackAnim;
+            case ZombieStore.ANIM_HURT:
+                return hurtAnim;
+            case ZombieStore.ANIM_DEAD:
+                return deadAnim;
+            default:
+                return null;
+        }
     }
 
     @Override
@@ -330,8 +630,143 @@ public class Zombie extends Character {
 
     @Override
     public Object getBounds() {
-        bounds.x = x;
-        bounds.y = y;
+        bounds.x = store.x[slot];
+        bounds.y = store.y[slot];
+        bounds.width = store.width[slot];
+        bounds.height = store.height[slot];
         return bounds;
     }
+
+    @Override
+    public boolean checkCollision(Entity other) {
+        return ((Rectangle) getBounds()).intersects((Rectangle) other.getBounds());
+    }
+
+    // Entity and Character state, redirected to the store slot
+
+    @Override
+    public float getX() {
+        return store.x[slot];
+    }
+
+    @Override
+    public void setX(float x) {
+        store.x[slot] = x;
+    }
+
+    @Override
+    public float getY() {
+        return store.y[slot];
+    }
+
+    @Override
+    public void setY(float y) {
+        store.y[slot] = y;
+    }
+
+    @Override
+    public void savePreviousPosition() {
+        store.previousX[slot] = store.x[slot];
+        store.previousY[slot] = store.y[slot];
+    }
+
+    @Override
+    public float getPreviousX() {
+        return store.previousX[slot];
+    }
+
+    @Override
+    public float getPreviousY() {
+        return store.previousY[slot];
+    }
+
+    @Override
+    public int getWidth() {
+        return store.width[slot];
+    }
+
+    @Override
+    public void setWidth(int width) {
+        store.width[slot] = width;
+    }
+
+    @Override
+    public int getHeight() {
+        return store.height[slot];
+    }
+
+    @Override
+    public void setHeight(int height) {
+        store.height[slot] = height;
+    }
+
+    @Override
+    public float getVelocityX() {
+        return store.velocityX[slot];
+    }
+
+    @Override
+    public void setVelocityX(float velocityX) {
+        store.velocityX[slot] = velocityX;
+    }
+
+    @Override
+    public float getVelocityY() {
+        return store.velocityY[slot];
+    }
+
+    @Override
+    public void setVelocityY(float velocityY) {
+        store.velocityY[slot] = velocityY;
+    }
+
+    @Override
+    public boolean isAlive() {
+        return store.alive[slot];
+    }
+
+    @Override
+    public void setAlive(boolean alive) {
+        store.alive[slot] = alive;
+    }
+
+    @Override
+    public int getHp() {
+        return store.hp[slot];
+    }
+
+    @Override
+    public void setHp(int hp) {
+        store.hp[slot] = Math.min(hp, store.maxHp[slot]);
+    }
+
+    @Override
+    public int getMaxHp() {
+        return store.maxHp[slot];
+    }
+
+    @Override
+    public void setMaxHp(int maxHp) {
+        store.maxHp[slot] = maxHp;
+    }
+
+    @Override
+    public boolean isDead() {
+        return store.hp[slot] <= 0;
+    }
+
+    @Override
+    public boolean isFacingRight() {
+        return store.facingRight[slot];
+    }
+
+    public void setFacingRight(boolean facingRight) {
+        store.facingRight[slot] = facingRight;
+    }
+
+    @Override
+    public java.awt.image.BufferedImage getCurrentFrame() {
+        graphics.AnimationClip clip = animationAt(store.animation[slot]);
+        return clip != null ? clip.frameAt(store.animationTime[slot]) : null;
+    }
 }
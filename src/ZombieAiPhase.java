@@ -0,0 +1,125 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs a level's zombie AI in two phases each tick.
+//
+// Path planning goes through the level's shared pathfinding services (the path cache, request
+// queues, lazily built maps), so it stays on the calling thread, one zombie at a time in slot
+// order. Steering then only reads the player, the map and the flow field and writes the
+// zombie's own slot, so the store is cut into chunks of CHUNK_SIZE slots that are steered in
+// parallel on a ForkJoinPool. Anything steering does beyond its own zombie - attacking the
+// player, refining the next HPA* leg, counting state transitions - is recorded in the chunk's
+// ZombieEffects and merged afterwards chunk by chunk, which is slot order. Chunk boundaries
+// don't depend on the number of threads, so neither does the result.
+public class ZombieAiPhase {
+    private static final int CHUNK_SIZE = 32;
+
+    private final ForkJoinPool pool; // null: every chunk is steered on the calling thread
+    private final boolean ownsPool;
+    private ZombieEffects[] effects;
+
+    // Steers on the common pool
+    public ZombieAiPhase() {
+        this(ForkJoinPool.commonPool(), false);
+    }
+
+    // Steers on a pool of its own with the given number of threads; 1 or less runs inline
+    public ZombieAiPhase(int parallelism) {
+        this(parallelism > 1 ? new ForkJoinPool(parallelism) : null, parallelism > 1);
+    }
+
+    private ZombieAiPhase(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.effects = new ZombieEffects[0];
+    }
+
+    public void run(ZombieStore zombies, Player player, Environment environment, float dt) {
+        int count = zombies.size();
+
+        // Phase 1: plan paths, sequentially
+        for (int i = 0; i < count; i++) {
+            if (zombies.alive[i]) {
+                zombies.get(i).planPath(player, environment, dt);
+            }
+        }
+
+        // Phase 2: steer, in parallel chunks
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (effects.length < chunks) {
+            int old = effects.length;
+            effects = Arrays.copyOf(effects, chunks);
+            for (int c = old; c < chunks; c++) {
+                effects[c] = new ZombieEffects();
+            }
+        }
+        if (pool == null || chunks <= 1) {
+            for (int c = 0; c < chunks; c++) {
+                steerChunk(zombies, c, player, environment, dt);
+            }
+        } else {
+            pool.invoke(new SteerTask(zombies, player, environment, dt, 0, chunks));
+        }
+
+        // Merge: apply the recorded effects in slot order
+        for (int c = 0; c < chunks; c++) {
+            effects[c].apply(player);
+        }
+    }
+
+    // Stops the pool's threads if it has its own; call when the level is thrown away
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private void steerChunk(ZombieStore zombies, int chunk, Player player, Environment environment, float dt) {
+        ZombieEffects chunkEffects = effects[chunk];
+        int end = Math.min(zombies.size(), (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            if (!zombies.alive[i])
+                continue;
+            Zombie zombie = zombies.get(i);
+            zombie.effects = chunkEffects;
+            try {
+                zombie.steer(player, environment, dt);
+            } finally {
+                zombie.effects = null;
+            }
+        }
+    }
+
+    // Splits a range of chunks in half until each task has one
+    private class SteerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ZombieStore zombies;
+        private final Player player;
+        private final Environment environment;
+        private final float dt;
+        private final int from;
+        private final int to;
+
+        SteerTask(ZombieStore zombies, Player player, Environment environment, float dt, int from, int to) {
+            this.zombies = zombies;
+            this.player = player;
+            this.environment = environment;
+            this.dt = dt;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                steerChunk(zombies, from, player, environment, dt);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SteerTask(zombies, player, environment, dt, from, mid),
+                    new SteerTask(zombies, player, environment, dt, mid, to));
+        }
+    }
+}
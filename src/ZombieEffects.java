@@ -0,0 +1,73 @@
+import java.util.Arrays;
+
+// What one chunk of zombie steering did to anything other than the zombies themselves,
+// recorded on a worker thread and applied afterwards on the level's thread (see ZombieAiPhase).
+// Like EntityCommandBuffer, entries live in flat arrays reused from tick to tick.
+public class ZombieEffects {
+    // Opcodes
+    public static final byte ATTACK = 0; // the zombie attacks the player
+    public static final byte NEXT_SEGMENT = 1; // the zombie finished an HPA* leg; refine the next
+    public static final byte TRANSITION = 2; // the zombie changed state; count it on its table
+
+    private byte[] ops;
+    private Zombie[] zombies;
+    private byte[] from;
+    private byte[] to;
+    private int count;
+
+    public ZombieEffects() {
+        this.ops = new byte[16];
+        this.zombies = new Zombie[16];
+        this.from = new byte[16];
+        this.to = new byte[16];
+    }
+
+    public void record(byte op, Zombie zombie) {
+        append(op, zombie);
+    }
+
+    public void recordTransition(Zombie zombie, byte fromState, byte toState) {
+        int effect = append(TRANSITION, zombie);
+        from[effect] = fromState;
+        to[effect] = toState;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Plays the effects back in recorded order and clears the buffer
+    public void apply(Player player) {
+        for (int i = 0; i < count; i++) {
+            Zombie zombie = zombies[i];
+            switch (ops[i]) {
+                case ATTACK:
+                    zombie.attack(player);
+                    break;
+                case NEXT_SEGMENT:
+                    zombie.nextSegment();
+                    break;
+                case TRANSITION:
+                    zombie.getStateMachine().recordTransition(from[i], to[i]);
+                    break;
+                default:
+                    break;
+            }
+        }
+        Arrays.fill(zombies, 0, count, null);
+        count = 0;
+    }
+
+    private int append(byte op, Zombie zombie) {
+        if (count == ops.length) {
+            int capacity = count * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            zombies = Arrays.copyOf(zombies, capacity);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+        }
+        ops[count] = op;
+        zombies[count] = zombie;
+        return count++;
+    }
+}
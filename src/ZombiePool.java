@@ -0,0 +1,67 @@
+// Recycles regular zombies between spawns. Building a Zombie loads its five animation strips
+// and cuts new frame arrays from them, so instead of dropping dead zombies the level hands them
+// back here once their death animation has finished, and the next spawn re-initialises one
+// with Zombie.reset(). Pooled zombies are parked in a ZombieStore of the pool's own, so taking
+// one out or putting one back just moves its slot between stores.
+//
+// prewarm() tops the pool up ahead of a wave so spawns during combat don't construct anything.
+// Only plain Zombie instances are pooled; subclasses such as Boss carry extra state that
+// reset() doesn't know about and are left to the garbage collector.
+public class ZombiePool {
+    private final ZombieStore parked;
+    private int created; // zombies the pool had to construct
+    private int reused; // spawns served from the pool
+
+    public ZombiePool() {
+        this.parked = new ZombieStore(16);
+    }
+
+    // A zombie ready to spawn at (x, y); the caller adopts it into the level's store
+    public Zombie acquire(float x, float y, int width, int height, int maxHp, float speed, int attackDamage) {
+        for (int slot = parked.size() - 1; slot >= 0; slot--) {
+            Zombie zombie = parked.get(slot);
+            if (zombie.getWidth() == width && zombie.getHeight() == height) {
+                zombie.reset(x, y, maxHp, speed, attackDamage);
+                reused++;
+                return zombie;
+            }
+        }
+        created++;
+        return new Zombie(x, y, width, height, maxHp, speed, attackDamage);
+    }
+
+    // Takes back a zombie that has left its level; returns false if it can't be pooled
+    public boolean release(Zombie zombie) {
+        if (zombie.getClass() != Zombie.class)
+            return false;
+        zombie.setLevel(null);
+        parked.adopt(zombie);
+        return true;
+    }
+
+    // Constructs zombies until at least count of the given size are parked
+    public void prewarm(int count, int width, int height) {
+        int available = 0;
+        for (int slot = 0; slot < parked.size(); slot++) {
+            Zombie zombie = parked.get(slot);
+            if (zombie.getWidth() == width && zombie.getHeight() == height)
+                available++;
+        }
+        for (; available < count; available++) {
+            parked.adopt(new Zombie(0, 0, width, height, 1, 0, 0));
+            created++;
+        }
+    }
+
+    public int getAvailable() {
+        return parked.size();
+    }
+
+    public int getCreatedCount() {
+        return created;
+    }
+
+    public int getReusedCount() {
+        return reused;
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+// Transition table for zombie AI. A zombie's state is a byte in its ZombieStore slot; the AI
+// doesn't set it directly but reports what happened (it started moving, reached the player,
+// got hit, ...) and the table says which state, if any, that event leads to from the current
+// one. Events with no entry are ignored, which is how a flinching zombie keeps flinching while
+// its AI goes on asking to chase, and how the Boss shrugs off hits mid-swing. Entering and
+// leaving a state runs Zombie.onEnterState/onExitState.
+//
+// A table is shared by every zombie of a kind, and so are its counters: transitions taken per
+// (from, to) pair and total zombie-seconds spent in each state.
+public class ZombieStateMachine {
+    // States
+    public static final byte IDLE = 0;
+    public static final byte CHASE = 1;
+    public static final byte ATTACK = 2;
+    public static final byte HURT = 3;
+    public static final byte DEAD = 4;
+    public static final int STATE_COUNT = 5;
+    private static final String[] STATE_NAMES = { "idle", "moving", "attacking", "hurt", "dead" };
+
+    // Events
+    public static final byte STOP = 0; // nothing to walk toward
+    public static final byte MOVE = 1; // walking along a path
+    public static final byte REACH = 2; // player within attack range
+    public static final byte DAMAGE = 3; // took a hit and survived
+    public static final byte RECOVER = 4; // hurt animation has played out
+    public static final byte KILL = 5; // hp ran out
+    public static final int EVENT_COUNT = 6;
+
+    public static final byte NONE = -1;
+
+    private final byte[] next; // [state * EVENT_COUNT + event] -> state, or NONE
+    private final long[] transitions; // [from * STATE_COUNT + to]
+    private final double[] timeInState;
+
+    public ZombieStateMachine() {
+        this.next = new byte[STATE_COUNT * EVENT_COUNT];
+        Arrays.fill(next, NONE);
+        this.transitions = new long[STATE_COUNT * STATE_COUNT];
+        this.timeInState = new double[STATE_COUNT];
+    }
+
+    // The table zombies use unless they bring their own
+    public static ZombieStateMachine standard() {
+        return new ZombieStateMachine()
+                .on(IDLE, MOVE, CHASE).on(IDLE, REACH, ATTACK).on(IDLE, DAMAGE, HURT).on(IDLE, KILL, DEAD)
+                .on(CHASE, STOP, IDLE).on(CHASE, REACH, ATTACK).on(CHASE, DAMAGE, HURT).on(CHASE, KILL, DEAD)
+                .on(ATTACK, STOP, IDLE).on(ATTACK, MOVE, CHASE).on(ATTACK, DAMAGE, HURT).on(ATTACK, KILL, DEAD)
+                .on(HURT, RECOVER, IDLE).on(HURT, KILL, DEAD);
+    }
+
+    // Adds a row entry: event in state from leads to state to
+    public ZombieStateMachine on(byte from, byte event, byte to) {
+        next[from * EVENT_COUNT + event] = to;
+        return this;
+    }
+
+    // The state the event leads to, or NONE if the table ignores it
+    public byte next(byte state, byte event) {
+        return next[state * EVENT_COUNT + event];
+    }
+
+    void recordTransition(byte from, byte to) {
+        transitions[from * STATE_COUNT + to]++;
+    }
+
+    void recordTime(byte state, float dt) {
+        timeInState[state] += dt;
+    }
+
+    public long getTransitionCount(byte from, byte to) {
+        return transitions[from * STATE_COUNT + to];
+    }
+
+    // Times any zombie using this table entered the state
+    public long getEntryCount(byte state) {
+        long entries = 0;
+        for (int from = 0; from < STATE_COUNT; from++) {
+            entries += transitions[from * STATE_COUNT + state];
+        }
+        return entries;
+    }
+
+    // Zombie-seconds spent in the state, summed over every zombie using this table
+    public double getTimeInState(byte state) {
+        return timeInState[state];
+    }
+
+    public void resetCounters() {
+        Arrays.fill(transitions, 0);
+        Arrays.fill(timeInState, 0);
+    }
+
+    public static String stateName(byte state) {
+        return STATE_NAMES[state];
+    }
+
+    // Unknown names map to IDLE
+    public static byte stateCode(String name) {
+        for (byte code = 0; code < STATE_NAMES.length; code++) {
+            if (STATE_NAMES[code].equals(name))
+                return code;
+        }
+        return IDLE;
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Structure-of-arrays storage for zombies. The fields every per-tick loop touches (position,
+// velocity, size, hp, state, timers, current animation and its playhead) live in parallel arrays
+// indexed by slot, so movement, map clamping and drawing walk memory linearly instead of
+// chasing one object graph per zombie. Zombies are always packed into slots [0, size);
+// removing one moves the last zombie into the freed slot.
+//
+// A Zombie object is a view of one slot: its getters and setters read and write these arrays,
+// so existing callers keep working. A zombie outside any level keeps its data in its home
+// store, a one-slot store made with the zombie and reused every time it leaves a level, and
+// adopt()/remove() carry the data across when it joins or leaves one.
+//
+// The arrays are package-visible for the hot loops and are replaced when the store grows, so
+// don't hold on to one across an adopt().
+public class ZombieStore {
+    // Animation slots (see Zombie.animationAt); NO_ANIMATION when the zombie has none
+    public static final byte NO_ANIMATION = -1;
+    public static final byte ANIM_IDLE = 0;
+    public static final byte ANIM_MOVE = 1;
+    public static final byte ANIM_ATTACK = 2;
+    public static final byte ANIM_HURT = 3;
+    public static final byte ANIM_DEAD = 4;
+
+    float[] x;
+    float[] y;
+    float[] previousX; // position at the start of the tick, for render interpolation
+    float[] previousY;
+    float[] velocityX;
+    float[] velocityY;
+    int[] width;
+    int[] height;
+    int[] hp;
+    int[] maxHp;
+    byte[] state; // ZombieStateMachine state code
+    byte[] animation;
+    float[] animationTime; // playhead into the current animation's shared clip, in seconds
+    float[] attackTimer;
+    float[] pathfindingTimer;
+    boolean[] alive;
+    boolean[] facingRight;
+    private Zombie[] views;
+    private int size;
+    private final List<Zombie> list;
+
+    public ZombieStore(int capacity) {
+        allocate(Math.max(1, capacity));
+        this.list = new AbstractList<Zombie>() {
+            @Override
+            public Zombie get(int index) {
+                if (index < 0 || index >= size)
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                return views[index];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Zombie get(int slot) {
+        return views[slot];
+    }
+
+    // Read-only live view in slot order, for code that wants a List<Zombie>
+    public List<Zombie> asList() {
+        return list;
+    }
+
+    // Appends an empty slot for a zombie under construction
+    int attach(Zombie zombie) {
+        if (size == views.length) {
+            grow(size * 2);
+        }
+        views[size] = zombie;
+        return size++;
+    }
+
+    // Moves the zombie's data into a new slot at the end of this store and rebinds the view
+    public void adopt(Zombie zombie) {
+        if (zombie.store == this)
+            return;
+        int slot = attach(zombie);
+        copy(zombie.store, zombie.slot, this, slot);
+        zombie.store.release(zombie.slot);
+        zombie.bind(this, slot);
+    }
+
+    // Swap-remove; the zombie's data moves back to its home store
+    public void remove(int slot) {
+        Zombie removed = views[slot];
+        ZombieStore home = removed.home;
+        if (home == this)
+            return;
+        copy(this, slot, home, home.attach(removed));
+        release(slot);
+        removed.bind(home, 0);
+    }
+
+    public void remove(Zombie zombie) {
+        if (zombie.store == this) {
+            remove(zombie.slot);
+        }
+    }
+
+    // Call at the start of a tick, before anything moves
+    public void savePositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    // Movement and timers for every zombie, one linear pass over the arrays
+    public void integrate(float dt) {
+        for (int i = 0; i < size; i++) {
+            integrate(i, dt);
+        }
+    }
+
+    public void integrate(int slot, float dt) {
+        // Dead zombies stop where they fell
+        if (!alive[slot]) {
+            velocityX[slot] = 0;
+            velocityY[slot] = 0;
+        }
+        x[slot] += velocityX[slot] * dt;
+        y[slot] += velocityY[slot] * dt;
+        attackTimer[slot] -= dt;
+    }
+
+    // Frees the slot by moving the last zombie into it
+    private void release(int slot) {
+        int last = size - 1;
+        if (slot != last) {
+            copy(this, last, this, slot);
+            views[slot] = views[last];
+            views[slot].bind(this, slot);
+        }
+        views[last] = null;
+        size = last;
+    }
+
+    private static void copy(ZombieStore from, int a, ZombieStore to, int b) {
+        to.x[b] = from.x[a];
+        to.y[b] = from.y[a];
+        to.previousX[b] = from.previousX[a];
+        to.previousY[b] = from.previousY[a];
+        to.velocityX[b] = from.velocityX[a];
+        to.velocityY[b] = from.velocityY[a];
+        to.width[b] = from.width[a];
+        to.height[b] = from.height[a];
+        to.hp[b] = from.hp[a];
+        to.maxHp[b] = from.maxHp[a];
+        to.state[b] = from.state[a];
+        to.animation[b] = from.animation[a];
+        to.animationTime[b] = from.animationTime[a];
+        to.attackTimer[b] = from.attackTimer[a];
+        to.pathfindingTimer[b] = from.pathfindingTimer[a];
+        to.alive[b] = from.alive[a];
+        to.facingRight[b] = from.facingRight[a];
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        hp = new int[capacity];
+        maxHp = new int[capacity];
+        state = new byte[capacity];
+        animation = new byte[capacity];
+        animationTime = new float[capacity];
+        attackTimer = new float[capacity];
+        pathfindingTimer = new float[capacity];
+        alive = new boolean[capacity];
+        facingRight = new boolean[capacity];
+        views = new Zombie[capacity];
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        hp = Arrays.copyOf(hp, capacity);
+        maxHp = Arrays.copyOf(maxHp, capacity);
+        state = Arrays.copyOf(state, capacity);
+        animation = Arrays.copyOf(animation, capacity);
+        animationTime = Arrays.copyOf(animationTime, capacity);
+        attackTimer = Arrays.copyOf(attackTimer, capacity);
+        pathfindingTimer = Arrays.copyOf(pathfindingTimer, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        facingRight = Arrays.copyOf(facingRight, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+}
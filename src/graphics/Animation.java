@@ -2,58 +2,34 @@ package graphics;
 
 import java.awt.image.BufferedImage;
 
+// A playhead over a shared AnimationClip, advanced by simulation time so frames progress the
+// same way however fast the game loop runs.
 public class Animation {
-    private int speed;
-    private int index;
-    private long lastTime;
-    private long timer;
-    private BufferedImage[] frames;
-
-    private boolean looping = true;
-    private boolean finished = false;
-
-    public Animation(int speed, BufferedImage[] frames) {
-        this.speed = speed;
-        this.frames = frames;
-        this.index = 0;
-        this.timer = 0;
-        this.lastTime = System.currentTimeMillis();
-    }
+    private final AnimationClip clip;
+    private float time;
 
-    public void setLooping(boolean looping) {
-        this.looping = looping;
+    public Animation(AnimationClip clip) {
+        this.clip = clip;
+        this.time = 0;
     }
 
     public boolean isFinished() {
-        return finished;
+        return clip.isFinishedAt(time);
     }
 
-    public void update() {
-        timer += System.currentTimeMillis() - lastTime;
-        lastTime = System.currentTimeMillis();
-
-        if (timer > speed) {
-            index++;
-            timer = 0;
-            if (index >= frames.length) {
-                if (looping) {
-                    index = 0;
-                } else {
-                    index = frames.length - 1;
-                    finished = true;
-                }
-            }
-        }
+    public void update(float dt) {
+        time = clip.advance(time, dt);
     }
 
     public BufferedImage getCurrentFrame() {
-        return frames[index];
+        return clip.frameAt(time);
     }
 
     public void reset() {
-        index = 0;
-        timer = 0;
-        lastTime = System.currentTimeMillis();
-        finished = false;
+        time = 0;
+    }
+
+    public AnimationClip getClip() {
+        return clip;
     }
 }
@@ -0,0 +1,61 @@
+package graphics;
+
+import java.awt.image.BufferedImage;
+
+// The frames of one animation strip, how long each is shown and whether it loops. Clips are
+// immutable and shared: ResourceManager.getClip() builds each one once, and every entity that
+// plays it keeps only its own playhead time (an Animation, or a plain float for zombies).
+public class AnimationClip {
+    private final BufferedImage[] frames;
+    private final float frameDuration; // seconds
+    private final boolean looping;
+
+    public AnimationClip(BufferedImage[] frames, float frameDuration, boolean looping) {
+        this.frames = frames.clone();
+        this.frameDuration = Math.max(0.001f, frameDuration);
+        this.looping = looping;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public float getFrameDuration() {
+        return frameDuration;
+    }
+
+    public boolean isLooping() {
+        return looping;
+    }
+
+    // Total time to play every frame once
+    public float getDuration() {
+        return frames.length * frameDuration;
+    }
+
+    // Playhead time after dt more seconds; wraps for looping clips and stops at the end otherwise
+    public float advance(float time, float dt) {
+        time += dt;
+        float duration = getDuration();
+        if (time >= duration) {
+            time = looping ? time % duration : duration;
+        }
+        return time;
+    }
+
+    public int frameIndexAt(float time) {
+        int index = (int) (time / frameDuration);
+        if (looping)
+            return index % frames.length;
+        return Math.min(index, frames.length - 1);
+    }
+
+    public BufferedImage frameAt(float time) {
+        return frames[frameIndexAt(time)];
+    }
+
+    // A non-looping clip is finished once its last frame has been shown for its full duration
+    public boolean isFinishedAt(float time) {
+        return !looping && time >= getDuration();
+    }
+}
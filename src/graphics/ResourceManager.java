@@ -9,6 +9,7 @@ import java.util.Map;
 
 public class ResourceManager {
     private static Map<String, BufferedImage> textures = new HashMap<>();
+    private static Map<String, AnimationClip> clips = new HashMap<>();
 
     public static BufferedImage getTexture(String path) {
         if (!textures.containsKey(path)) {
@@ -28,4 +29,41 @@ public class ResourceManager {
         }
         return textures.get(path);
     }
+
+    // Cuts a horizontal strip into frames once and shares the clip between every caller asking
+    // for the same strip and timing. frameCount 0 or less means square frames; null if the
+    // texture can't be loaded.
+    public static AnimationClip getClip(String path, int frameCount, int frameMillis, boolean looping) {
+        String key = path + "#" + frameCount + "#" + frameMillis + "#" + looping;
+        AnimationClip clip = clips.get(key);
+        if (clip != null)
+            return clip;
+
+        BufferedImage strip = getTexture(path);
+        if (strip == null)
+            return null;
+        // Auto-detect frame count if 0 or negative
+        if (frameCount <= 0) {
+            if (strip.getHeight() > 0) {
+                frameCount = strip.getWidth() / strip.getHeight();
+            } else {
+                frameCount = 1; // Safety fallback
+            }
+        }
+
+        // Prevent division by zero
+        if (frameCount < 1)
+            frameCount = 1;
+
+        int frameWidth = strip.getWidth() / frameCount;
+        int frameHeight = strip.getHeight();
+
+        BufferedImage[] frames = new BufferedImage[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            frames[i] = strip.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
+        }
+        clip = new AnimationClip(frames, frameMillis / 1000f, looping);
+        clips.put(key, clip);
+        return clip;
+    }
 }